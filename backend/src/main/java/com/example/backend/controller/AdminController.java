@@ -0,0 +1,93 @@
+package com.example.backend.controller;
+
+import com.example.backend.domain.entity.CacheStatistics;
+import com.example.backend.domain.entity.ImportResult;
+import com.example.backend.domain.entity.SlowQuery;
+import com.example.backend.domain.service.BookImportService;
+import com.example.backend.domain.service.CacheStatisticsService;
+import com.example.backend.domain.service.SlowQueryService;
+import com.example.backend.utils.InternalServerException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private static final int MAX_SLOW_QUERIES = 200;
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final BookImportService bookImportService;
+    private final SlowQueryService slowQueryService;
+
+    @Autowired
+    public AdminController(
+            CacheStatisticsService cacheStatisticsService,
+            BookImportService bookImportService,
+            SlowQueryService slowQueryService
+    ) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.bookImportService = bookImportService;
+        this.slowQueryService = slowQueryService;
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        try {
+            return ResponseEntity.ok(cacheStatisticsService.findAll());
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @PostMapping("/books/import")
+    public ResponseEntity<ImportResult> importBooks(
+            @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format,
+            InputStream body
+    ) {
+        try {
+            if (format.equals("csv")) {
+                return ResponseEntity.ok(bookImportService.importCsv(body));
+            }
+            return ResponseEntity.ok(bookImportService.importNdjson(body));
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQuery>> getSlowQueries(
+            @RequestParam(required = false) String statement,
+            @RequestParam(defaultValue = "50") @Positive @Max(MAX_SLOW_QUERIES) int limit
+    ) {
+        try {
+            return ResponseEntity.ok(slowQueryService.find(statement, limit));
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        try {
+            slowQueryService.clear();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package com.example.backend.controller;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChanges;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.domain.entity.SerializedResponse;
+import com.example.backend.domain.entity.Status;
+import com.example.backend.domain.service.BookChangeService;
+import com.example.backend.domain.service.BookEventService;
+import com.example.backend.domain.service.BookResponseService;
 import com.example.backend.domain.service.BookService;
 import com.example.backend.utils.InternalServerException;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,9 +30,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -25,26 +43,77 @@ import java.util.List;
 @RequestMapping("/books")
 public class BookController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_POPULAR_BOOKS = 100;
+
     private final BookService service;
+    private final BookResponseService responseService;
+    private final BookEventService eventService;
+    private final BookChangeService changeService;
 
     @Autowired
-    public BookController(BookService service) {
+    public BookController(
+            BookService service,
+            BookResponseService responseService,
+            BookEventService eventService,
+            BookChangeService changeService
+    ) {
         this.service = service;
+        this.responseService = responseService;
+        this.eventService = eventService;
+        this.changeService = changeService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Book>> getBook() {
+    public ResponseEntity<byte[]> getBook(
+            @RequestParam(required = false) @Positive Integer cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) Status status,
+            @RequestParam(defaultValue = "asc") @Pattern(regexp = "asc|desc") String order,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        try {
+            var query = new BookQuery(cursor, limit, status, order.equals("desc"));
+            return json(responseService.findBooks(query), ifNoneMatch, acceptEncoding);
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
         try {
-            return ResponseEntity.ok(service.findAllBooks());
+            return eventService.subscribe(lastEventId);
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<BookChanges> getChanges(@RequestParam(required = false) @PositiveOrZero Long since) {
+        try {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(changeService.findChanges(since));
         } catch (Exception e) {
             throw new InternalServerException("something went wrong", e);
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable @Positive int id) {
+    public ResponseEntity<byte[]> getBookById(
+            @PathVariable @Positive int id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
         try {
-            return ResponseEntity.ok(service.findById(id));
+            var response = responseService.findBookById(id);
+            if (response == null) {
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).build();
+            }
+            return json(response, ifNoneMatch, acceptEncoding);
         } catch (Exception e) {
             throw new InternalServerException("something went wrong", e);
         }
@@ -85,11 +154,76 @@ public class BookController {
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<List<Book>> getPopularBooks() {
+    public ResponseEntity<byte[]> getPopularBooks(
+            @RequestParam(defaultValue = "all") @Pattern(regexp = "24h|7d|30d|all") String window,
+            @RequestParam(defaultValue = "5") @Positive @Max(MAX_POPULAR_BOOKS) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
         try {
-            return ResponseEntity.ok(service.getPopularBooks());
+            var response = responseService.getPopularBooks(PopularityWindow.of(window), limit);
+            return json(response, ifNoneMatch, acceptEncoding);
         } catch (Exception e) {
             throw new InternalServerException(e);
         }
     }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    /**
+     * Writes the cached bytes as they are, picking the gzip variant when the client accepts it. The tag is hashed
+     * from the bytes, so a client's copy is current exactly when it matches, whichever replica served it. The gzip
+     * variant carries its own tag, since the two are different representations of the same resource.
+     */
+    private static ResponseEntity<byte[]> json(SerializedResponse response, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = response.gzip() != null && acceptsGzip(acceptEncoding);
+        String etag = gzip ? gzipETag(response.etag()) : response.etag();
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        var builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (response.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(response.nextCursor()));
+        }
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
 }
@@ -1,12 +1,25 @@
 package com.example.backend.controller;
 
+import com.example.backend.domain.entity.BatchBorrowRequest;
+import com.example.backend.domain.entity.BatchItemResult;
 import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.BorrowRecordPage;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.ReturnRequest;
 import com.example.backend.domain.service.BorrowRecordService;
 import com.example.backend.utils.BadRequestException;
 import com.example.backend.utils.InternalServerException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,7 +30,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
 
 @Validated
@@ -25,11 +50,19 @@ import java.util.List;
 @RequestMapping("/borrow_records")
 public class BorrowRecordController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_PATTERN = "\\d{1,18}_\\d{1,9}";
+
     private final BorrowRecordService service;
+    private final ObjectWriter recordWriter;
 
     @Autowired
-    public BorrowRecordController(BorrowRecordService service) {
+    public BorrowRecordController(BorrowRecordService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.recordWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping
@@ -41,12 +74,38 @@ public class BorrowRecordController {
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBorrowRecords(
+            @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|csv") String format,
+            @RequestParam(defaultValue = "false") boolean archived
+    ) {
+        boolean csv = format.equals("csv");
+        StreamingResponseBody body = out -> {
+            if (csv) {
+                writeCsv(out, archived);
+            } else {
+                writeNdjson(out, archived);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header("Content-Disposition", "attachment; filename=borrow_records." + format)
+                .body(body);
+    }
+
     @GetMapping("/users")
     public ResponseEntity<List<BorrowRecord>> getBookRecordsByUserId(
-            @RequestParam("id") @Positive int userId
+            @RequestParam("id") @Positive int userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @Pattern(regexp = CURSOR_PATTERN) String cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean open,
+            @RequestParam(defaultValue = "false") boolean archived
     ) {
         try {
-            return ResponseEntity.ok().body(service.findByUserId(userId));
+            return history(new BorrowRecordQuery(userId, null, startOf(from), endOf(to), null, null,
+                    limit, open, archived).withCursor(cursor));
         } catch (Exception e) {
             throw new InternalServerException("something went wrong", e);
         }
@@ -54,10 +113,17 @@ public class BorrowRecordController {
 
     @GetMapping("/books")
     public ResponseEntity<List<BorrowRecord>> getBookRecordsByBookId(
-            @RequestParam("id") @Positive int bookId
+            @RequestParam("id") @Positive int bookId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @Pattern(regexp = CURSOR_PATTERN) String cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean open,
+            @RequestParam(defaultValue = "false") boolean archived
     ) {
         try {
-            return ResponseEntity.ok().body(service.findByBookId(bookId));
+            return history(new BorrowRecordQuery(null, bookId, startOf(from), endOf(to), null, null,
+                    limit, open, archived).withCursor(cursor));
         } catch (Exception e) {
             throw new InternalServerException("something went wrong", e);
         }
@@ -94,4 +160,107 @@ public class BorrowRecordController {
             throw new InternalServerException("something went wrong", e);
         }
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> borrowBooks(
+            @RequestBody @NotNull BatchBorrowRequest body
+    ) {
+        if (body.userId() == null || body.userId() <= 0) {
+            throw new BadRequestException("user_id must be positive");
+        }
+        validateBatch(body.bookIds());
+        if (!body.bookIds().stream().allMatch(this::isPositive)) {
+            throw new BadRequestException("book_ids must be positive");
+        }
+
+        try {
+            return ResponseEntity.ok().body(service.borrowBooks(body.userId(), body.bookIds()));
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    @PutMapping("/batch/return")
+    public ResponseEntity<List<BatchItemResult>> returnBooks(
+            @RequestBody @NotNull List<ReturnRequest> body
+    ) {
+        validateBatch(body);
+        for (ReturnRequest request : body) {
+            if (request == null || !isPositive(request.borrowRecordId()) || !isPositive(request.bookId())) {
+                throw new BadRequestException("borrow_record_id and book_id must be positive");
+            }
+        }
+
+        try {
+            return ResponseEntity.ok().body(service.returnBooks(body));
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
+    private void validateBatch(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("batch is empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("batch size exceeds the limit of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    private boolean isPositive(Integer id) {
+        return id != null && id > 0;
+    }
+
+    private void writeNdjson(OutputStream out, boolean archived) throws IOException {
+        try (JsonGenerator generator = recordWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            service.exportBorrowRecords(archived, record -> {
+                try {
+                    recordWriter.writeValue(generator, record);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out, boolean archived) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,user_id,book_id,borrowed_date,returned_date\n");
+        service.exportBorrowRecords(archived, record -> {
+            try {
+                writer.write(record.id + "," + record.userId + "," + record.bookId + ","
+                        + formatDate(record.borrowedDate) + "," + formatDate(record.returnedDate) + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private String formatDate(Date date) {
+        return date == null ? "" : DateTimeFormatter.ISO_INSTANT.format(date.toInstant());
+    }
+
+    private ResponseEntity<List<BorrowRecord>> history(BorrowRecordQuery query) {
+        BorrowRecordPage page = service.findHistory(query);
+        var builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(BookController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.records());
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    /**
+     * {@code to} names the last day included.
+     */
+    private static LocalDateTime endOf(LocalDate to) {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
 }
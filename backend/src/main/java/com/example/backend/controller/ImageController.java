@@ -0,0 +1,62 @@
+package com.example.backend.controller;
+
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.domain.service.AvatarService;
+import com.example.backend.infra.storage.FileSender;
+import com.example.backend.utils.InternalServerException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+@Validated
+@RestController
+@RequestMapping("/images")
+public class ImageController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final AvatarService avatarService;
+
+    @Autowired
+    public ImageController(AvatarService avatarService) {
+        this.avatarService = avatarService;
+    }
+
+    /**
+     * The name is the content's SHA-256, so the response never changes and is cached without revalidation.
+     */
+    @GetMapping("/{hash}")
+    public void getImage(
+            @PathVariable @Pattern(regexp = "[0-9a-f]{64}") String hash,
+            @RequestParam(defaultValue = "original") @Pattern(regexp = "original|thumbnail") String variant,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        try {
+            boolean thumbnail = variant.equals("thumbnail");
+            Optional<ImageFile> image = avatarService.findImage(hash, thumbnail);
+            if (image.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            ImageFile file = image.get();
+            // The original standing in for a thumbnail must not be cached under the thumbnail's URL
+            CacheControl cacheControl = file.thumbnail() == thumbnail ? IMMUTABLE : CacheControl.noCache().cachePrivate();
+            FileSender.send(request, response, file.path(), file.contentType(), file.etag(), cacheControl);
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to send file", e);
+        }
+    }
+}
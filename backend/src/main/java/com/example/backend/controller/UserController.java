@@ -1,11 +1,23 @@
 package com.example.backend.controller;
 
+import com.example.backend.domain.entity.Avatar;
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.MyPage;
 import com.example.backend.domain.entity.User;
+import com.example.backend.domain.service.AvatarService;
+import com.example.backend.domain.service.BorrowRecordService;
+import com.example.backend.domain.service.MyPageService;
 import com.example.backend.domain.service.UserService;
 import com.example.backend.utils.BadRequestException;
+import com.example.backend.infra.storage.FileSender;
 import com.example.backend.utils.InternalServerException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -20,13 +32,10 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -34,13 +43,23 @@ import java.util.UUID;
 public class UserController {
 
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;  // 5MB
-    private static final String UPLOAD_DIR = "backend/src/main/images";
 
     private final UserService service;
+    private final AvatarService avatarService;
+    private final BorrowRecordService borrowRecordService;
+    private final MyPageService myPageService;
 
     @Autowired
-    public UserController(UserService service) {
+    public UserController(
+            UserService service,
+            AvatarService avatarService,
+            BorrowRecordService borrowRecordService,
+            MyPageService myPageService
+    ) {
         this.service = service;
+        this.avatarService = avatarService;
+        this.borrowRecordService = borrowRecordService;
+        this.myPageService = myPageService;
     }
 
     @GetMapping
@@ -61,6 +80,15 @@ public class UserController {
         }
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<LoanSummary> getLoanSummary(@PathVariable @Positive int id) {
+        try {
+            return ResponseEntity.ok(borrowRecordService.findSummaryByUserId(id));
+        } catch (Exception e) {
+            throw new InternalServerException("something went wrong", e);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUserById(@PathVariable @Positive int id) {
         try {
@@ -79,17 +107,38 @@ public class UserController {
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        Map<String, Object> me = Map.of(
-                "id", user.getId(),
-                "name", user.getUsername(),
-                "email", user.getEmail(),
-                "isAdmin", user.isAdmin()
-        );
-        return ResponseEntity.ok(me);
+        return ResponseEntity.ok(profile(user));
+    }
+
+    /**
+     * The user, their loan summary, open loans with titles and latest history in one response, read in parallel.
+     */
+    @GetMapping("/me/page")
+    public ResponseEntity<Map<String, Object>> getMyPage(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        MyPage page = myPageService.find(user.getId());
+        if (page.user() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "user", profile(page.user()),
+                "summary", page.summary(),
+                "active_loans", page.activeLoans(),
+                "recent_history", page.recentHistory()
+        ));
     }
 
     @PostMapping("/image")
-    public ResponseEntity<Map<String, String>> updateImage(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, String>> updateImage(
+            @AuthenticationPrincipal User user,
+            @RequestParam("file") MultipartFile file
+    ) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
         if (file.isEmpty()) {
             throw new BadRequestException("File is empty");
         }
@@ -102,33 +151,53 @@ public class UserController {
             throw new BadRequestException("File size exceeds the 5MB limit");
         }
 
-        try {
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String originalFileName = Objects.requireNonNull(file.getOriginalFilename());
-            String uniqueFileName = "img_" + UUID.randomUUID() + "_" + originalFileName;
-
-            Path destinationFile = uploadPath.resolve(uniqueFileName).normalize().toAbsolutePath();
-            if (!destinationFile.getParent().startsWith(uploadPath.toAbsolutePath())) {
-                throw new SecurityException("Invalid file path");
-            }
-
-            file.transferTo(destinationFile.toFile());
+        try (InputStream in = file.getInputStream()) {
+            Avatar avatar = avatarService.upload(user.getId(), in, file.getContentType());
 
             return ResponseEntity.ok(Map.of(
                     "message", "File uploaded successfully",
-                    "filePath", destinationFile.toString()
+                    "hash", avatar.hash()
             ));
-        } catch (IOException | SecurityException e) {
+        } catch (IOException e) {
             throw new InternalServerException("Failed to upload file", e);
         }
     }
 
+    /**
+     * The avatar behind this URL changes on upload, so clients revalidate; the content-addressed
+     * {@code /images/{hash}} form of the same file can be cached for good.
+     */
+    @GetMapping("/{id}/image")
+    public void getImage(
+            @PathVariable @Positive int id,
+            @RequestParam(defaultValue = "original") @Pattern(regexp = "original|thumbnail") String variant,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        try {
+            Optional<ImageFile> image = avatarService.findAvatarImage(id, variant.equals("thumbnail"));
+            if (image.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            ImageFile file = image.get();
+            FileSender.send(request, response, file.path(), file.contentType(), file.etag(),
+                    CacheControl.noCache().cachePrivate());
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to send file", e);
+        }
+    }
+
     private boolean isSupportedContentType(String contentType) {
         return contentType != null && (contentType.equals("image/jpeg") || contentType.equals("image/png"));
     }
+
+    private static Map<String, Object> profile(User user) {
+        return Map.of(
+                "id", user.getId(),
+                "name", user.getUsername(),
+                "email", user.getEmail(),
+                "isAdmin", user.isAdmin()
+        );
+    }
 }
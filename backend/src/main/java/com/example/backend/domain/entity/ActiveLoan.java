@@ -0,0 +1,16 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * An open loan joined with the title of the borrowed book, so a client can list it without fetching the book.
+ */
+public record ActiveLoan(
+        @JsonProperty("borrow_record_id") Integer borrowRecordId,
+        @JsonProperty("book_id") Integer bookId,
+        String title,
+        @JsonProperty("borrowed_date") Date borrowedDate
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A user's profile image, stored once per distinct content under its SHA-256.
+ */
+public record Avatar(
+        String hash,
+        @JsonProperty("content_type") String contentType
+) {
+}
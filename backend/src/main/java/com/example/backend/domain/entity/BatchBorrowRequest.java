@@ -0,0 +1,11 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record BatchBorrowRequest(
+        @JsonProperty("user_id") Integer userId,
+        @JsonProperty("book_ids") List<Integer> bookIds
+) {
+}
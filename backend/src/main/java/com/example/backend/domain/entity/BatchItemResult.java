@@ -0,0 +1,19 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record BatchItemResult(
+        @JsonProperty("book_id") int bookId,
+        @JsonProperty("borrow_record_id") Integer borrowRecordId,
+        boolean success,
+        String error
+) {
+
+    public static BatchItemResult succeeded(int bookId, int borrowRecordId) {
+        return new BatchItemResult(bookId, borrowRecordId, true, null);
+    }
+
+    public static BatchItemResult failed(int bookId, Integer borrowRecordId, String error) {
+        return new BatchItemResult(bookId, borrowRecordId, false, error);
+    }
+}
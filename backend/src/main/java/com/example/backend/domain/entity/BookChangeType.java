@@ -0,0 +1,8 @@
+package com.example.backend.domain.entity;
+
+public enum BookChangeType {
+    ADDED,
+    DELETED,
+    BORROWED,
+    RETURNED
+}
@@ -0,0 +1,19 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Published by the services whenever books are added, deleted, borrowed or returned. Listeners that act on it
+ * outside the database use {@code @TransactionalEventListener}, so they only ever see committed changes.
+ */
+public record BookChangedEvent(
+        BookChangeType type,
+        @JsonProperty("book_ids") List<Integer> bookIds
+) {
+
+    public static BookChangedEvent of(BookChangeType type, int bookId) {
+        return new BookChangedEvent(type, List.of(bookId));
+    }
+}
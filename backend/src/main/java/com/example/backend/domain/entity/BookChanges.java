@@ -0,0 +1,21 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Books that changed after a client's version, as they are now. Deleted books are listed by id only. When
+ * {@code resyncRequired} is set the lists are empty and the client must reload the catalog before polling
+ * again with {@code version}.
+ */
+public record BookChanges(
+        long version,
+        @JsonProperty("resync_required") boolean resyncRequired,
+        List<Book> changed,
+        List<Integer> deleted
+) {
+    public static BookChanges resync(long version) {
+        return new BookChanges(version, true, List.of(), List.of());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.domain.entity;
+
+public record BookQuery(
+        Integer cursor,
+        int limit,
+        Status status,
+        boolean descending
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.domain.entity;
+
+/**
+ * A title and its stored {@code books.search_key}, which is empty until the startup backfill reaches the row.
+ */
+public record BookSearchKey(
+        Integer id,
+        String title,
+        String searchKey
+) {
+}
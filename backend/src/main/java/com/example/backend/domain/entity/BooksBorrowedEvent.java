@@ -0,0 +1,10 @@
+package com.example.backend.domain.entity;
+
+import java.util.List;
+
+/**
+ * Published next to {@link BookChangedEvent} when books are borrowed. It carries the new borrow records, with their
+ * ids and borrow times, for listeners that count borrows rather than track book status.
+ */
+public record BooksBorrowedEvent(List<BorrowRecord> borrowRecords) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.domain.entity;
+
+import java.util.List;
+
+/**
+ * {@code nextCursor} is null on the last page.
+ */
+public record BorrowRecordPage(List<BorrowRecord> records, String nextCursor) {
+}
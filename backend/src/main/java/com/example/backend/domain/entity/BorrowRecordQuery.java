@@ -0,0 +1,37 @@
+package com.example.backend.domain.entity;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * One page of borrow history for a user or a book, newest first. {@code from} is inclusive and {@code to}
+ * exclusive; the cursor is the {@code (borrowedDate, id)} of the last record on the previous page.
+ */
+public record BorrowRecordQuery(
+        Integer userId,
+        Integer bookId,
+        LocalDateTime from,
+        LocalDateTime to,
+        Date cursorDate,
+        Integer cursorId,
+        int limit,
+        boolean openOnly,
+        boolean includeArchived
+) {
+
+    /**
+     * Encodes a record's position as {@code <borrowed epoch millis>_<id>}, the form {@link #withCursor} reads back.
+     */
+    public static String cursorOf(BorrowRecord record) {
+        return record.borrowedDate.getTime() + "_" + record.id;
+    }
+
+    public BorrowRecordQuery withCursor(String cursor) {
+        if (cursor == null) {
+            return this;
+        }
+        String[] parts = cursor.split("_");
+        return new BorrowRecordQuery(userId, bookId, from, to, new Date(Long.parseLong(parts[0])),
+                Integer.parseInt(parts[1]), limit, openOnly, includeArchived);
+    }
+}
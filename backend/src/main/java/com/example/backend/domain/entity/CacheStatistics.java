@@ -0,0 +1,13 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record CacheStatistics(
+        String name,
+        long size,
+        @JsonProperty("hit_count") long hitCount,
+        @JsonProperty("miss_count") long missCount,
+        @JsonProperty("hit_ratio") double hitRatio,
+        @JsonProperty("eviction_count") long evictionCount
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.backend.domain.entity;
+
+import java.nio.file.Path;
+
+/**
+ * A stored image file ready to be served. {@code thumbnail} tells whether this is the thumbnail, as the original
+ * stands in while a requested thumbnail is still being generated.
+ */
+public record ImageFile(
+        Path path,
+        String contentType,
+        String etag,
+        boolean thumbnail
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ImportResult(
+        long imported,
+        long skipped,
+        @JsonProperty("elapsed_ms") long elapsedMillis,
+        @JsonProperty("rows_per_second") long rowsPerSecond
+) {
+}
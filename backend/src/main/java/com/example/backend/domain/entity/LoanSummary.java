@@ -0,0 +1,15 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * {@code lastBorrowedDate} is null for a user who has never borrowed a book.
+ */
+public record LoanSummary(
+        @JsonProperty("active_loans") Long activeLoans,
+        @JsonProperty("total_borrowed") Long totalBorrowed,
+        @JsonProperty("last_borrowed_date") Date lastBorrowedDate
+) {
+}
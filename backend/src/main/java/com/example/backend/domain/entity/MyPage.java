@@ -0,0 +1,14 @@
+package com.example.backend.domain.entity;
+
+import java.util.List;
+
+/**
+ * Everything the patron's page shows, gathered in one request. {@code user} is null when the account is gone.
+ */
+public record MyPage(
+        User user,
+        LoanSummary summary,
+        List<ActiveLoan> activeLoans,
+        List<BorrowRecord> recentHistory
+) {
+}
@@ -0,0 +1,30 @@
+package com.example.backend.domain.entity;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public enum PopularityWindow {
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7)),
+    MONTH("30d", Duration.ofDays(30)),
+    ALL("all", null);
+
+    private final String label;
+    private final Duration span;
+
+    PopularityWindow(String label, Duration span) {
+        this.label = label;
+        this.span = span;
+    }
+
+    public Duration span() {
+        return span;
+    }
+
+    public static PopularityWindow of(String label) {
+        return Arrays.stream(values())
+                .filter(window -> window.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown window: " + label));
+    }
+}
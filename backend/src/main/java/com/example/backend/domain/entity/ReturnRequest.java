@@ -0,0 +1,9 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ReturnRequest(
+        @JsonProperty("borrow_record_id") Integer borrowRecordId,
+        @JsonProperty("book_id") Integer bookId
+) {
+}
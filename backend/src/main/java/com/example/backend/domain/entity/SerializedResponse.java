@@ -0,0 +1,12 @@
+package com.example.backend.domain.entity;
+
+/**
+ * Encoded JSON body ready to be written as is. {@code etag} is a quoted strong tag hashed from {@code json}, so
+ * it always describes these exact bytes. {@code gzip} is null when compressing would not pay off.
+ */
+public record SerializedResponse(String etag, byte[] json, byte[] gzip, Integer nextCursor) {
+
+    public int weight() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
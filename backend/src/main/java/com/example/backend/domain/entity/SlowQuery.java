@@ -0,0 +1,21 @@
+package com.example.backend.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record SlowQuery(
+        String statement,
+        String sql,
+        List<Object> parameters,
+        @JsonProperty("duration_ms") double durationMillis,
+        @JsonProperty("executed_at") Instant executedAt,
+        List<Map<String, Object>> plan
+) {
+
+    public SlowQuery withPlan(List<Map<String, Object>> plan) {
+        return new SlowQuery(statement, sql, parameters, durationMillis, executedAt, plan);
+    }
+}
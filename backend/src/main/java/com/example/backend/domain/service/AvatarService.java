@@ -0,0 +1,96 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Avatar;
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.infra.mapper.UserMapper;
+import com.example.backend.infra.storage.ImageStore;
+import com.example.backend.utils.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AvatarService {
+
+    private final UserMapper userMapper;
+    private final ImageStore imageStore;
+    private final Semaphore uploads;
+    private final Duration uploadWait;
+
+    @Autowired
+    public AvatarService(
+            UserMapper userMapper,
+            ImageStore imageStore,
+            @Value("${app.images.max-concurrent-uploads:4}") int maxConcurrentUploads,
+            @Value("${app.images.upload-wait:2s}") Duration uploadWait
+    ) {
+        this.userMapper = userMapper;
+        this.imageStore = imageStore;
+        this.uploads = new Semaphore(maxConcurrentUploads);
+        this.uploadWait = uploadWait;
+    }
+
+    /**
+     * Stores the image and makes it the user's avatar. At most {@code maxConcurrentUploads} uploads copy to disk
+     * at once; the rest wait up to {@code uploadWait} and are then turned away, so a burst of large files cannot
+     * tie up every request thread on disk writes. The thumbnail is generated in the background.
+     */
+    public Avatar upload(int userId, InputStream in, String contentType) throws IOException {
+        acquireUploadPermit();
+        try {
+            Avatar avatar = new Avatar(imageStore.store(in, contentType), contentType);
+            userMapper.upsertAvatar(userId, avatar);
+            imageStore.generateThumbnail(avatar.hash(), contentType);
+            return avatar;
+        } finally {
+            uploads.release();
+        }
+    }
+
+    public Optional<ImageFile> findAvatarImage(int userId, boolean thumbnail) {
+        return Optional.ofNullable(userMapper.findAvatar(userId)).map(avatar -> imageFile(avatar, thumbnail));
+    }
+
+    /**
+     * Looks up an image by its content hash, whoever uploaded it.
+     */
+    public Optional<ImageFile> findImage(String hash, boolean thumbnail) {
+        return imageStore.contentTypeOf(hash).map(contentType -> imageFile(new Avatar(hash, contentType), thumbnail));
+    }
+
+    /**
+     * Falls back to the original when the thumbnail is missing, for instance because its queue was full, and
+     * queues it again for the next request.
+     */
+    private ImageFile imageFile(Avatar avatar, boolean thumbnail) {
+        if (thumbnail) {
+            Path path = imageStore.thumbnail(avatar.hash(), avatar.contentType());
+            if (Files.exists(path)) {
+                return new ImageFile(path, avatar.contentType(), "\"" + avatar.hash() + "-thumbnail\"", true);
+            }
+            imageStore.generateThumbnail(avatar.hash(), avatar.contentType());
+        }
+        Path path = imageStore.original(avatar.hash(), avatar.contentType());
+        return new ImageFile(path, avatar.contentType(), "\"" + avatar.hash() + "\"", false);
+    }
+
+    private void acquireUploadPermit() {
+        try {
+            if (!uploads.tryAcquire(uploadWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException("too many uploads in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("upload was interrupted");
+        }
+    }
+}
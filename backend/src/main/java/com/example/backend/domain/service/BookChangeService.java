@@ -0,0 +1,139 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BookChanges;
+import com.example.backend.infra.mapper.BookChangeMapper;
+import com.example.backend.infra.mapper.BookMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Change journal behind {@code GET /books/changes}. Every {@link BookChangedEvent} is written in the transaction
+ * that caused it, one row per book under its own AUTO_INCREMENT version, so a client holding a version can fetch
+ * just the books that changed since. Entries older than the retention are compacted away; a client behind that
+ * point, or behind by more than {@code maxChanges} books, is told to resync.
+ * <p>
+ * Writers don't queue for versions, so a lower version can commit after a higher one. Clients are only handed a
+ * version with no gap below it: a gap is a version still in flight, or one whose writer rolled back after taking it,
+ * which is given up on once rows written {@code commitWindow} after it exist.
+ */
+@Service
+public class BookChangeService {
+
+    private static final int MAX_SETTLING_VERSIONS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(BookChangeService.class);
+
+    private final BookChangeMapper bookChangeMapper;
+    private final BookMapper bookMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxChanges;
+    private final Duration retention;
+    private final Duration commitWindow;
+
+    @Autowired
+    public BookChangeService(
+            BookChangeMapper bookChangeMapper,
+            BookMapper bookMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.book-changes.max-changes:1000}") int maxChanges,
+            @Value("${app.book-changes.retention:7d}") Duration retention,
+            @Value("${app.book-changes.commit-window:10s}") Duration commitWindow
+    ) {
+        this.bookChangeMapper = bookChangeMapper;
+        this.bookMapper = bookMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxChanges = maxChanges;
+        this.retention = retention;
+        this.commitWindow = commitWindow;
+    }
+
+    /**
+     * Runs just before the writer commits, so the journal entry commits or rolls back with the change itself.
+     * Events published outside a transaction, like the import's, get one of their own.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            record(event);
+        } else {
+            transactionTemplate.executeWithoutResult(status -> record(event));
+        }
+    }
+
+    /**
+     * A {@code null} {@code since} returns the current version with {@code resyncRequired}; read it before
+     * loading the catalog so nothing committed in between is missed.
+     */
+    @Transactional(readOnly = true)
+    public BookChanges findChanges(Long since) {
+        long version = findSettledVersion();
+        if (since == null || since < bookChangeMapper.findHorizon() || since > version) {
+            return BookChanges.resync(version);
+        }
+        if (since == version) {
+            return new BookChanges(version, false, List.of(), List.of());
+        }
+
+        List<Integer> ids = bookChangeMapper.findChangedBookIds(since, version, maxChanges + 1);
+        if (ids.size() > maxChanges) {
+            return BookChanges.resync(version);
+        }
+        List<Book> changed = bookMapper.findByIds(ids);
+        Set<Integer> deleted = new HashSet<>(ids);
+        changed.forEach(book -> deleted.remove(book.id()));
+        return new BookChanges(version, false, changed, ids.stream().filter(deleted::contains).toList());
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.book-changes.compaction-interval:1h}",
+            fixedDelayString = "${app.book-changes.compaction-interval:1h}"
+    )
+    @Transactional
+    public void compact() {
+        Long horizon = bookChangeMapper.findLastVersionBefore(LocalDateTime.now().minus(retention));
+        if (horizon == null) {
+            return;
+        }
+        int deleted = bookChangeMapper.deleteThrough(horizon);
+        bookChangeMapper.advanceHorizon(horizon);
+        logger.info("compacted {} book changes through version {}", deleted, horizon);
+    }
+
+    /**
+     * The highest version with every version below it committed. Rows are written just before commit, so rows
+     * older than the commit window (plus clock skew between instances) are settled and only newer ones are walked.
+     */
+    private long findSettledVersion() {
+        Long settled = bookChangeMapper.findLastVersionBefore(LocalDateTime.now().minus(commitWindow));
+        long version = Math.max(settled == null ? 0 : settled, bookChangeMapper.findHorizon());
+        for (long next : bookChangeMapper.findVersionsAfter(version, MAX_SETTLING_VERSIONS)) {
+            if (next != version + 1) {
+                break;
+            }
+            version = next;
+        }
+        return version;
+    }
+
+    private void record(BookChangedEvent event) {
+        bookChangeMapper.insertChanges(event.type(), event.bookIds(), LocalDateTime.now());
+    }
+}
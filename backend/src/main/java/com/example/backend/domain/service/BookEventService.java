@@ -0,0 +1,288 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed {@link BookChangedEvent}s to Server-Sent Events subscribers.
+ * <p>
+ * Writers only enqueue; serialization and fan-out run on a single dispatcher thread, which also registers new
+ * subscribers, so a client resuming with {@code Last-Event-ID} sees every event exactly once. Each event is
+ * encoded once and the same frame is queued for every connection. An idle subscriber holds a socket and an
+ * emitter, but no thread.
+ * <p>
+ * The dispatcher never writes to a socket. Every subscriber has a bounded buffer of pending frames that a small
+ * writer pool drains, one task per subscriber at a time. A client that falls {@code buffer} frames behind is
+ * completed and has to reconnect with its {@code Last-Event-ID}, so a slow connection ties up at most one writer
+ * and never delays the others' events.
+ */
+@Service
+public class BookEventService implements DisposableBean {
+
+    static final String EVENT = "book";
+    /**
+     * Sent instead of a replay when the requested id is no longer buffered or comes from another process.
+     * The client should refetch the catalog.
+     */
+    static final String RESET = "reset";
+    /**
+     * Matches {@code server.tomcat.max-connections} in events.properties.
+     */
+    private static final int MAX_SUBSCRIBERS = 20000;
+
+    private final Logger logger = LoggerFactory.getLogger(BookEventService.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ObjectWriter writer;
+    private final int replaySize;
+    private final int buffer;
+    private final ScheduledExecutorService dispatcher;
+    private final ThreadPoolExecutor writers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+
+    // Only touched on the dispatcher thread
+    private final Deque<Frame> replay = new ArrayDeque<>();
+    private long lastSequence;
+
+    @Autowired
+    public BookEventService(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.events.replay-size:1024}") int replaySize,
+            @Value("${app.events.heartbeat:30s}") Duration heartbeatInterval,
+            @Value("${app.events.buffer:1024}") int buffer,
+            @Value("${app.events.writer-threads:4}") int writerThreads
+    ) {
+        this.writer = objectMapper.writer();
+        this.replaySize = replaySize;
+        this.buffer = buffer;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        // A subscriber has at most one drain task queued, so the queue only needs room for every connection
+        this.writers = new ThreadPoolExecutor(
+                writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_SUBSCRIBERS),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "book-events-writer-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        // Also how dead connections are found: the write fails and the subscriber is dropped
+        dispatcher.scheduleAtFixedRate(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder("book.events.subscribers", subscribers, Set::size)
+                .description("Open Server-Sent Events connections on /books/events")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, buffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        dispatcher.execute(() -> register(subscriber, lastEventId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    int subscribers() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void register(Subscriber subscriber, String lastEventId) {
+        subscribers.add(subscriber);
+        if (lastEventId != null) {
+            replayAfter(subscriber, lastEventId);
+        }
+    }
+
+    /**
+     * A client that missed more frames than fit in its buffer is reset, just as if it had fallen behind while
+     * connected.
+     */
+    private void replayAfter(Subscriber subscriber, String lastEventId) {
+        long sequence = sequenceOf(lastEventId);
+        long oldest = replay.isEmpty() ? lastSequence + 1 : replay.peekFirst().sequence();
+        if (sequence < oldest - 1 || sequence > lastSequence || lastSequence - sequence > buffer) {
+            offer(subscriber, SseEmitter.event().id(id(lastSequence)).name(RESET).data("{}", MediaType.APPLICATION_JSON).build());
+            return;
+        }
+        for (Frame frame : replay) {
+            if (frame.sequence() > sequence) {
+                offer(subscriber, frame.data());
+            }
+        }
+    }
+
+    private void dispatch(BookChangedEvent event) {
+        try {
+            long sequence = ++lastSequence;
+            Set<DataWithMediaType> data = SseEmitter.event()
+                    .id(id(sequence))
+                    .name(EVENT)
+                    .data(writer.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                    .build();
+            replay.addLast(new Frame(sequence, data));
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> offer(subscriber, data));
+        } catch (JsonProcessingException e) {
+            logger.warn("failed to serialize {}", event, e);
+        }
+    }
+
+    /**
+     * Skips subscribers that still have frames pending; those frames already show whether the connection is alive.
+     */
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.pending.isEmpty()) {
+                offer(subscriber, heartbeat);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> data) {
+        if (!subscriber.pending.offer(data)) {
+            logger.debug("dropping a book events subscriber {} frames behind", buffer);
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Runs on a writer thread. {@code scheduled} is cleared before the final check for new frames, so a frame
+     * offered while the queue looked empty either is seen here or schedules another drain. A dropped subscriber
+     * is completed here too, once its last write returns, because completing an emitter waits for a send in
+     * progress.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> data;
+            while (!subscriber.dropped && (data = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(data);
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.complete();
+                    return;
+                }
+            }
+            if (subscriber.dropped) {
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.pending.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.dropped = true;
+        subscriber.pending.clear();
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private String id(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Returns -1 for ids from another process or that cannot be parsed, which always forces a reset.
+     */
+    private long sequenceOf(String id) {
+        int dash = id.lastIndexOf('-');
+        if (dash < 0 || !id.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record Frame(long sequence, Set<DataWithMediaType> data) {
+    }
+
+    /**
+     * Frames are shared between subscribers, and the linked queue only allocates for frames actually pending.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter, int buffer) {
+            this.emitter = emitter;
+            this.pending = new LinkedBlockingQueue<>(buffer);
+        }
+    }
+}
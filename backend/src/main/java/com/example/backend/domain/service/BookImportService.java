@@ -0,0 +1,182 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.ImportResult;
+import com.example.backend.infra.mapper.BookMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams a title list into the books table through a MyBatis batch executor, one transaction per chunk,
+ * so memory use depends on the chunk size and not on the input size.
+ */
+@Service
+public class BookImportService {
+
+    private static final int MAX_TITLE_LENGTH = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(BookImportService.class);
+
+    private final SqlSessionTemplate batchSqlSession;
+    private final BookMapper batchBookMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader jsonReader;
+    private final int chunkSize;
+
+    @Autowired
+    public BookImportService(
+            SqlSessionFactory sqlSessionFactory,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${app.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchBookMapper = batchSqlSession.getMapper(BookMapper.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.jsonReader = objectMapper.readerFor(JsonNode.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the first column of each CSV line. A leading {@code title} header line is skipped.
+     */
+    public ImportResult importCsv(InputStream in) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String first = reader.readLine();
+            Stream<String> lines = first == null || first.strip().equalsIgnoreCase("title")
+                    ? reader.lines()
+                    : Stream.concat(Stream.of(first), reader.lines());
+            return importTitles(lines.filter(line -> !line.isBlank()).map(this::parseCsvTitle).iterator());
+        }
+    }
+
+    /**
+     * Imports the {@code title} field of each JSON object in a newline-delimited stream.
+     */
+    public ImportResult importNdjson(InputStream in) throws IOException {
+        try (var objects = jsonReader.<JsonNode>readValues(in)) {
+            return importTitles(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return objects.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return objects.next().path("title").asText(null);
+                }
+            });
+        }
+    }
+
+    private ImportResult importTitles(Iterator<String> titles) {
+        long began = System.nanoTime();
+        long imported = 0;
+        long skipped = 0;
+
+        List<String> chunk = new ArrayList<>(chunkSize);
+        while (titles.hasNext()) {
+            String title = titles.next();
+            if (title == null || title.isBlank() || title.strip().length() > MAX_TITLE_LENGTH) {
+                skipped++;
+                continue;
+            }
+            chunk.add(title.strip());
+            if (chunk.size() == chunkSize) {
+                imported += chunk.size();
+                writeChunk(chunk);
+                logger.info("imported {} books ({} rows/s)", imported, rowsPerSecond(imported, began));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += chunk.size();
+            writeChunk(chunk);
+        }
+
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+        logger.info("import finished: {} imported, {} skipped in {} ms", imported, skipped, elapsedMillis);
+        return new ImportResult(imported, skipped, elapsedMillis, rowsPerSecond(imported, began));
+    }
+
+    /**
+     * Announces only the ids this chunk generated once it commits; books added concurrently through
+     * POST /books publish their own event. The title index picks them up from the event.
+     */
+    private void writeChunk(List<String> chunk) {
+        List<Integer> added = transactionTemplate.execute(status -> {
+            chunk.forEach(title -> batchBookMapper.insertBookReturningId(new HashMap<>(Map.of("title", title))));
+            return generatedIds(batchSqlSession.flushStatements());
+        });
+        chunk.clear();
+        if (added != null && !added.isEmpty()) {
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangeType.ADDED, added));
+        }
+    }
+
+    private static List<Integer> generatedIds(List<BatchResult> results) {
+        List<Integer> ids = new ArrayList<>();
+        for (BatchResult result : results) {
+            for (Object parameter : result.getParameterObjects()) {
+                if (parameter instanceof Map<?, ?> book && book.get("id") instanceof Number id) {
+                    ids.add(id.intValue());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String parseCsvTitle(String line) {
+        if (!line.startsWith("\"")) {
+            int comma = line.indexOf(',');
+            return comma < 0 ? line : line.substring(0, comma);
+        }
+
+        var title = new StringBuilder();
+        for (int i = 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != '"') {
+                title.append(c);
+            } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                title.append('"');
+                i++;
+            } else {
+                break;
+            }
+        }
+        return title.toString();
+    }
+
+    private long rowsPerSecond(long rows, long began) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - began);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+}
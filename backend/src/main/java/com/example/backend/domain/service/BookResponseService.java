@@ -0,0 +1,91 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.domain.entity.SerializedResponse;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.cache.ResponseSerializer;
+import com.example.backend.infra.ranking.PopularityRanking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encoded JSON for the hottest catalog reads.
+ * <p>
+ * Lists are keyed by an in-process catalog version that is bumped once a change to books or loans has committed,
+ * so a hit costs a map lookup and nothing else, and any change makes the old bytes unreachable until they age out
+ * of the size-bounded cache. A miss reads from the primary, since a lagging replica could otherwise file old rows
+ * under the new version. Changes committed through other instances show up here when the entries expire.
+ */
+@Service
+public class BookResponseService {
+
+    private final BookService bookService;
+    private final PopularityRanking popularityRanking;
+    private final ResponseSerializer serializer;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache responses;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    @Autowired
+    public BookResponseService(
+            BookService bookService,
+            PopularityRanking popularityRanking,
+            ResponseSerializer serializer,
+            PlatformTransactionManager transactionManager,
+            CacheManager cacheManager
+    ) {
+        this.bookService = bookService;
+        this.popularityRanking = popularityRanking;
+        this.serializer = serializer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.responses = cacheManager.getCache(CacheConfig.RESPONSES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        catalogVersion.incrementAndGet();
+    }
+
+    public SerializedResponse findBooks(BookQuery query) {
+        String key = "books:" + catalogVersion.get() + ":" + query;
+        return responses.get(key, () -> {
+            List<Book> books = transactionTemplate.execute(status -> bookService.findBooks(query));
+            Integer nextCursor = books.size() == query.limit() ? books.get(books.size() - 1).id() : null;
+            return serializer.serialize(books, nextCursor);
+        });
+    }
+
+    /**
+     * The ranking lives in memory and is updated after commit, so its own version and the hourly bucket are part
+     * of the key alongside the catalog version.
+     */
+    public SerializedResponse getPopularBooks(PopularityWindow window, int limit) {
+        String ranking = window.span() == null
+                ? Long.toString(popularityRanking.version())
+                : popularityRanking.version() + "-" + popularityRanking.currentBucket();
+        String key = "popular:" + catalogVersion.get() + ":" + ranking + ":" + window + ":" + limit;
+        return responses.get(key, () -> serializer.serialize(
+                transactionTemplate.execute(status -> bookService.getPopularBooks(window, limit)), null));
+    }
+
+    /**
+     * Keyed by the book itself as {@link BookService#findById} returns it from its own cache, so a hit skips the
+     * serializer and a changed book never meets bytes encoded from its old state. Returns null when there is no such
+     * book.
+     */
+    public SerializedResponse findBookById(int id) {
+        Book book = bookService.findById(id);
+        return book == null ? null : responses.get(book, () -> serializer.serialize(book, null));
+    }
+}
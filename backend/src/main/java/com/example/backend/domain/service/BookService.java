@@ -1,45 +1,208 @@
 package com.example.backend.domain.service;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.BookSearchKey;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.infra.cache.CacheConfig;
 import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.BookTitleIndex;
+import com.example.backend.infra.search.TitleNormalizer;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(BookService.class);
+
     private final BookMapper bookMapper;
+    private final BookTitleIndex titleIndex;
+    private final PopularityRanking popularityRanking;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Object indexLock = new Object();
+    // Changes that commit while the index is rebuilt, applied once it is in place; guarded by indexLock
+    private List<BookChangedEvent> pendingIndexChanges;
 
     @Autowired
-    public BookService(BookMapper bookMapper) {
+    public BookService(
+            BookMapper bookMapper,
+            BookTitleIndex titleIndex,
+            PopularityRanking popularityRanking,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
         this.bookMapper = bookMapper;
+        this.titleIndex = titleIndex;
+        this.popularityRanking = popularityRanking;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Fills in search keys left empty by the migration that added {@code books.search_key} to an existing database.
+     * Each update commits on its own, so a restart resumes where the previous run stopped. Pages by id, so every row
+     * is visited once, even a title whose key is itself empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchKeys() {
+        int filled = 0;
+        int lastId = 0;
+        List<Book> books;
+        do {
+            books = bookMapper.findBooksWithoutSearchKey(lastId, BACKFILL_CHUNK_SIZE);
+            for (Book book : books) {
+                filled += bookMapper.updateSearchKey(book);
+                lastId = book.id();
+            }
+        } while (books.size() == BACKFILL_CHUNK_SIZE);
+        if (filled > 0) {
+            logger.info("backfilled search keys for {} books", filled);
+        }
+    }
+
+    /**
+     * Indexes the keys stored at write time into a fresh index and swaps it in, so searches keep using the old one
+     * meanwhile. Rows the backfill has not reached yet are normalized here instead.
+     * <p>
+     * The keys are read from the primary, since a lagging replica could miss changes that committed before the
+     * rebuild started. Changes that commit during it are held back and applied once the read transaction has
+     * ended. Both kinds are idempotent: an added title is read back by id, and a deleted one is removed even if
+     * the snapshot still had it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        synchronized (indexLock) {
+            pendingIndexChanges = new ArrayList<>();
+        }
+        try {
+            BookTitleIndex rebuilt = new BookTitleIndex();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Cursor<BookSearchKey> cursor = bookMapper.streamSearchKeys()) {
+                    cursor.forEach(book -> index(rebuilt, book));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            synchronized (indexLock) {
+                titleIndex.replaceWith(rebuilt);
+            }
+        } finally {
+            synchronized (indexLock) {
+                pendingIndexChanges.forEach(this::applyIndexChange);
+                pendingIndexChanges = null;
+            }
+        }
+        logger.info("indexed {} book titles", titleIndex.size());
+    }
+
+    /**
+     * Keeps the title index in step with committed changes only, so a rolled-back insert or delete leaves it as it
+     * was. Added titles are read back by id, which also covers the import's batches.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        synchronized (indexLock) {
+            if (pendingIndexChanges != null) {
+                pendingIndexChanges.add(event);
+                return;
+            }
+        }
+        applyIndexChange(event);
+    }
+
+    @Transactional(readOnly = true)
     public List<Book> findAllBooks() {
         return bookMapper.findAllBooks();
     }
 
+    @Transactional(readOnly = true)
+    public List<Book> findBooks(BookQuery query) {
+        return bookMapper.findBooks(query);
+    }
+
+    @Transactional
     public void insertBook(Book book) {
         bookMapper.insertBook(book);
+        int id = bookMapper.findLastInsertId();
+        eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.ADDED, id));
     }
 
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", unless = "#result == null")
     public Book findById(int id) {
         return bookMapper.findById(id);
     }
 
     @Transactional
     public int deleteById(int id) {
-        return bookMapper.deleteById(id);
+        int affectedRows = bookMapper.deleteById(id);
+        if (affectedRows > 0) {
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.DELETED, id));
+        }
+        return affectedRows;
     }
 
+    @Transactional(readOnly = true)
     public List<Book> search(String keyword) {
-        return bookMapper.search(keyword);
+        return findByIdsInOrder(titleIndex.search(keyword, MAX_SEARCH_RESULTS));
     }
 
-    public List<Book> getPopularBooks() {
-        return bookMapper.getPopularBooks();
+    @Transactional(readOnly = true)
+    public List<Book> getPopularBooks(PopularityWindow window, int limit) {
+        return findByIdsInOrder(popularityRanking.top(window, limit));
+    }
+
+    private void applyIndexChange(BookChangedEvent event) {
+        switch (event.type()) {
+            case ADDED -> bookMapper.findSearchKeysByIds(event.bookIds()).forEach(book -> index(titleIndex, book));
+            case DELETED -> event.bookIds().forEach(titleIndex::remove);
+            default -> {
+            }
+        }
+    }
+
+    private static void index(BookTitleIndex index, BookSearchKey book) {
+        String key = book.searchKey().isEmpty() ? TitleNormalizer.normalize(book.title()) : book.searchKey();
+        index.addSearchKey(book.id(), key);
+    }
+
+    private List<Book> findByIdsInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return bookMapper.findByIds(ids).stream()
+                .sorted(Comparator.comparing(book -> rank.get(book.id())))
+                .toList();
     }
 }
@@ -0,0 +1,75 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.infra.mapper.BorrowRecordMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves borrow records returned more than {@code archiveAfter} ago into {@code borrow_records_archive}, so the
+ * hot table only holds open loans and recent history. Each chunk of {@code chunkSize} records is copied and deleted
+ * in a transaction of its own, so no lock is held for longer than one chunk.
+ */
+@Service
+public class BorrowRecordArchiveService {
+
+    private final Logger logger = LoggerFactory.getLogger(BorrowRecordArchiveService.class);
+
+    private final BorrowRecordMapper borrowRecordMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+
+    @Autowired
+    public BorrowRecordArchiveService(
+            BorrowRecordMapper borrowRecordMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.borrow-records.archive-after:180d}") Duration archiveAfter,
+            @Value("${app.borrow-records.archive-chunk-size:500}") int chunkSize
+    ) {
+        this.borrowRecordMapper = borrowRecordMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the number of records archived.
+     */
+    @Scheduled(
+            initialDelayString = "${app.borrow-records.archive-interval:1h}",
+            fixedDelayString = "${app.borrow-records.archive-interval:1h}"
+    )
+    public int archive() {
+        LocalDateTime before = LocalDateTime.now().minus(archiveAfter);
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(before));
+            archived += moved;
+        } while (moved == chunkSize);
+
+        if (archived > 0) {
+            logger.info("archived {} borrow records returned before {}", archived, before);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime before) {
+        List<Integer> ids = borrowRecordMapper.lockArchivableIds(before, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        borrowRecordMapper.archiveByIds(ids);
+        return borrowRecordMapper.deleteByIds(ids);
+    }
+}
@@ -1,53 +1,158 @@
 package com.example.backend.domain.service;
 
+import com.example.backend.domain.entity.ActiveLoan;
+import com.example.backend.domain.entity.BatchItemResult;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BooksBorrowedEvent;
 import com.example.backend.domain.entity.BorrowRecord;
-import com.example.backend.domain.entity.Status;
+import com.example.backend.domain.entity.BorrowRecordPage;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.ReturnRequest;
+import com.example.backend.infra.cache.CacheConfig;
 import com.example.backend.infra.mapper.BookMapper;
 import com.example.backend.infra.mapper.BorrowRecordMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class BorrowRecordService {
 
     private final BorrowRecordMapper borrowRecordMapper;
     private final BookMapper bookMapper;
+    private final PopularityRanking popularityRanking;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     @Autowired
     public BorrowRecordService(
             BorrowRecordMapper borrowRecordMapper,
-            BookMapper bookMapper
+            BookMapper bookMapper,
+            PopularityRanking popularityRanking,
+            ApplicationEventPublisher eventPublisher,
+            CacheManager cacheManager
     ) {
         this.borrowRecordMapper = borrowRecordMapper;
         this.bookMapper = bookMapper;
+        this.popularityRanking = popularityRanking;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
 
+    /**
+     * Reads the history from the primary, so every borrow committed before the rebuild started is in it; borrows
+     * committed since are held back by the ranking until the rebuilt counts are swapped in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void buildPopularityRanking() {
+        PopularityRanking.Rebuild rebuild = popularityRanking.startRebuild();
+        try {
+            exportBorrowRecords(true, rebuild::add);
+        } catch (RuntimeException e) {
+            rebuild.cancel();
+            throw e;
+        }
+        rebuild.finish();
+    }
+
+    @Transactional(readOnly = true)
     public List<BorrowRecord> findAllBorrowRecords() {
         return borrowRecordMapper.findAllBorrowRecords();
     }
 
+    /**
+     * Streams the live table, then the archive, in no particular order. Both are read in one transaction, so under
+     * REPEATABLE READ a record being archived meanwhile shows up exactly once.
+     */
+    @Transactional(readOnly = true)
+    public void exportBorrowRecords(boolean includeArchived, Consumer<BorrowRecord> consumer) {
+        stream(borrowRecordMapper.streamAllBorrowRecords(), consumer);
+        if (includeArchived) {
+            stream(borrowRecordMapper.streamArchivedBorrowRecords(), consumer);
+        }
+    }
+
+    private void stream(Cursor<BorrowRecord> cursor, Consumer<BorrowRecord> consumer) {
+        try (cursor) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<BorrowRecord> findByUserId(int userId) {
         return borrowRecordMapper.findByUserId(userId);
     }
 
+    /**
+     * Loans the user has not returned yet, read from {@code open_loans} instead of filtering the history.
+     */
+    @Transactional(readOnly = true)
+    public List<BorrowRecord> findOpenByUserId(int userId) {
+        return borrowRecordMapper.findOpenByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActiveLoan> findActiveLoansByUserId(int userId) {
+        return borrowRecordMapper.findActiveLoansByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public LoanSummary findSummaryByUserId(int userId) {
+        return borrowRecordMapper.findSummaryByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
     public List<BorrowRecord> findByBookId(int bookId) {
         return borrowRecordMapper.findByBookId(bookId);
     }
 
+    /**
+     * A full page carries a cursor to the next one, which may turn out to be empty.
+     */
+    @Transactional(readOnly = true)
+    public BorrowRecordPage findHistory(BorrowRecordQuery query) {
+        List<BorrowRecord> records = borrowRecordMapper.findHistory(query);
+        String nextCursor = records.size() == query.limit()
+                ? BorrowRecordQuery.cursorOf(records.get(records.size() - 1))
+                : null;
+        return new BorrowRecordPage(records, nextCursor);
+    }
+
     @Transactional
     public boolean insertBorrowRecordIfAvailable(BorrowRecord borrowRecord) {
-        boolean isBookAvailable = bookMapper.findStatusById(borrowRecord.bookId) == Status.AVAILABLE;
-
-        if (!isBookAvailable) {
+        if (bookMapper.borrowBook(borrowRecord.bookId) == 0) {
             return false;
         }
 
-        bookMapper.borrowBook(borrowRecord.bookId);
         borrowRecord.setBorrowedDate();
         borrowRecordMapper.insertBorrowRecord(borrowRecord);
+        borrowRecordMapper.insertOpenLoan(borrowRecord);
+        eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.BORROWED, borrowRecord.bookId));
+        eventPublisher.publishEvent(new BooksBorrowedEvent(List.of(borrowRecord)));
         return true;
     }
 
@@ -57,7 +162,98 @@ public class BorrowRecordService {
         if (affectedRows == 0) {
             return false;
         }
+        borrowRecordMapper.deleteOpenLoan(borrowRecordId);
         bookMapper.returnBook(bookId);
+        eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.RETURNED, bookId));
         return true;
     }
+
+    /**
+     * Borrows every available book in one transaction with a fixed number of statements,
+     * regardless of how many ids are requested. Results follow the order of {@code bookIds}.
+     */
+    @Transactional
+    public List<BatchItemResult> borrowBooks(int userId, List<Integer> bookIds) {
+        List<Integer> distinctIds = bookIds.stream().distinct().toList();
+        Set<Integer> availableIds = new HashSet<>(bookMapper.lockAvailableIds(distinctIds));
+
+        Map<Integer, BorrowRecord> borrowed = new LinkedHashMap<>();
+        for (int bookId : distinctIds) {
+            if (availableIds.contains(bookId)) {
+                var borrowRecord = new BorrowRecord(userId, bookId);
+                borrowRecord.setBorrowedDate();
+                borrowed.put(bookId, borrowRecord);
+            }
+        }
+
+        if (!borrowed.isEmpty()) {
+            bookMapper.borrowBooks(new ArrayList<>(borrowed.keySet()));
+            evictBooks(borrowed.keySet());
+            borrowRecordMapper.insertBorrowRecords(new ArrayList<>(borrowed.values()));
+            borrowRecordMapper.insertOpenLoans(new ArrayList<>(borrowed.values()));
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangeType.BORROWED, List.copyOf(borrowed.keySet())));
+            eventPublisher.publishEvent(new BooksBorrowedEvent(List.copyOf(borrowed.values())));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<BatchItemResult> results = new ArrayList<>(bookIds.size());
+        for (int bookId : bookIds) {
+            BorrowRecord borrowRecord = borrowed.get(bookId);
+            if (!seen.add(bookId)) {
+                results.add(BatchItemResult.failed(bookId, null, "duplicate book id"));
+            } else if (borrowRecord == null) {
+                results.add(BatchItemResult.failed(bookId, null, "book isn't available"));
+            } else {
+                results.add(BatchItemResult.succeeded(bookId, borrowRecord.id));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns every open borrow record in one transaction with a fixed number of statements.
+     * Results follow the order of {@code requests}.
+     */
+    @Transactional
+    public List<BatchItemResult> returnBooks(List<ReturnRequest> requests) {
+        List<Integer> distinctIds = requests.stream().map(ReturnRequest::borrowRecordId).distinct().toList();
+        Map<Integer, BorrowRecord> openRecords = new HashMap<>();
+        borrowRecordMapper.lockOpenByIds(distinctIds).forEach(record -> openRecords.put(record.id, record));
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> borrowRecordIds = new ArrayList<>();
+        List<Integer> bookIds = new ArrayList<>();
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        for (ReturnRequest request : requests) {
+            BorrowRecord openRecord = openRecords.get(request.borrowRecordId());
+            if (!seen.add(request.borrowRecordId())) {
+                results.add(BatchItemResult.failed(request.bookId(), request.borrowRecordId(), "duplicate borrow record id"));
+            } else if (openRecord == null || !openRecord.bookId.equals(request.bookId())) {
+                results.add(BatchItemResult.failed(request.bookId(), request.borrowRecordId(), "book record not found"));
+            } else {
+                borrowRecordIds.add(openRecord.id);
+                bookIds.add(openRecord.bookId);
+                results.add(BatchItemResult.succeeded(request.bookId(), request.borrowRecordId()));
+            }
+        }
+
+        if (!borrowRecordIds.isEmpty()) {
+            borrowRecordMapper.updateBorrowRecords(borrowRecordIds);
+            borrowRecordMapper.deleteOpenLoans(borrowRecordIds);
+            bookMapper.returnBooks(bookIds);
+            evictBooks(bookIds);
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangeType.RETURNED, bookIds));
+        }
+        return results;
+    }
+
+    /**
+     * Evicts only the books a batch touched; the cache is transaction aware, so the evictions run after commit.
+     */
+    private void evictBooks(Collection<Integer> bookIds) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookIds.forEach(books::evict);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.ActiveLoan;
+import com.example.backend.domain.entity.BorrowRecordPage;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.MyPage;
+import com.example.backend.domain.entity.User;
+import com.example.backend.utils.ServiceUnavailableException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the patron's page from independent reads run side by side, so the response takes as long as the slowest
+ * read rather than their sum. Each read holds a database connection of its own, so the pool is kept small and
+ * bounded: when it is saturated, or the reads take longer than {@code timeout}, the request is turned away instead
+ * of queueing behind the others.
+ * <p>
+ * However the request ends, branches still queued or running are cancelled with an interrupt, so a timed out page
+ * does not keep pool threads and connections busy. Branches run with the caller's security context, which the
+ * read/write routing data source uses to send a patron who just wrote to the primary.
+ */
+@Service
+public class MyPageService implements DisposableBean {
+
+    private final UserService userService;
+    private final BorrowRecordService borrowRecordService;
+    private final int recentHistory;
+    private final Duration timeout;
+    private final ExecutorService executor;
+
+    @Autowired
+    public MyPageService(
+            UserService userService,
+            BorrowRecordService borrowRecordService,
+            @Value("${app.my-page.recent-history:10}") int recentHistory,
+            @Value("${app.my-page.timeout:2s}") Duration timeout,
+            @Value("${app.my-page.threads:8}") int threads,
+            @Value("${app.my-page.queue:100}") int queue
+    ) {
+        this.userService = userService;
+        this.borrowRecordService = borrowRecordService;
+        this.recentHistory = recentHistory;
+        this.timeout = timeout;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new DelegatingSecurityContextExecutorService(new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "my-page-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        ));
+    }
+
+    public MyPage find(int userId) {
+        var query = new BorrowRecordQuery(userId, null, null, null, null, null, recentHistory, false, false);
+        List<Future<?>> branches = new ArrayList<>(4);
+        try {
+            Future<User> user = submit(branches, () -> userService.findById(userId));
+            Future<LoanSummary> summary = submit(branches, () -> borrowRecordService.findSummaryByUserId(userId));
+            Future<List<ActiveLoan>> activeLoans = submit(branches, () -> borrowRecordService.findActiveLoansByUserId(userId));
+            Future<BorrowRecordPage> history = submit(branches, () -> borrowRecordService.findHistory(query));
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            return new MyPage(
+                    await(user, deadline),
+                    await(summary, deadline),
+                    await(activeLoans, deadline),
+                    await(history, deadline).records()
+            );
+        } finally {
+            // No-op for branches that have finished
+            branches.forEach(branch -> branch.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(List<Future<?>> branches, Callable<T> read) {
+        try {
+            Future<T> branch = executor.submit(read);
+            branches.add(branch);
+            return branch;
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("too many my page requests in progress");
+        }
+    }
+
+    private <T> T await(Future<T> branch, long deadline) {
+        try {
+            return branch.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("my page took longer than " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("my page was interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        }
+    }
+}
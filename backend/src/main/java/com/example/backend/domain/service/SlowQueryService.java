@@ -0,0 +1,27 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.SlowQuery;
+import com.example.backend.infra.metrics.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SlowQueryService {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    public SlowQueryService(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public List<SlowQuery> find(String statement, int limit) {
+        return slowQueryLog.find(statement, limit);
+    }
+
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.backend.domain.service;
 
 import com.example.backend.domain.entity.User;
+import com.example.backend.infra.cache.CacheConfig;
 import com.example.backend.infra.mapper.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,10 +26,12 @@ public class UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return mapper.findAllUsers();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", unless = "#result == null")
     public User findById(int id) {
         return mapper.findById(id);
     }
@@ -0,0 +1,151 @@
+package com.example.backend.infra.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log fed by {@link AccessLogFilter}. Request threads only copy a few fields into a ring buffer;
+ * a background writer formats the log lines and records per-endpoint latency histograms
+ * ({@code access.log} tagged by method, uri template and status). Records are dropped and counted
+ * ({@code access.log.dropped}) rather than blocking the request when the writer falls behind.
+ * <p>
+ * An idle writer parks until the next record arrives instead of polling; only the request that finds it
+ * parked pays for the wake-up.
+ */
+@Component
+public class AccessLog implements SmartLifecycle {
+
+    static final String LATENCY = "access.log";
+    static final String DROPPED = "access.log.dropped";
+    static final String UNMATCHED = "UNMATCHED";
+
+    private static final int DRAIN_BATCH = 512;
+
+    private final Logger logger = LoggerFactory.getLogger("access");
+
+    private final AccessLogRingBuffer buffer;
+    private final MeterRegistry registry;
+    private final Counter dropped;
+    private final Map<TimerKey, Timer> timers = new HashMap<>();
+    private final StringBuilder line = new StringBuilder(128);
+
+    private volatile boolean running;
+    private volatile boolean idle;
+    private volatile Thread writer;
+
+    @Autowired
+    public AccessLog(MeterRegistry registry, @Value("${app.access-log.capacity:8192}") int capacity) {
+        this.buffer = new AccessLogRingBuffer(capacity);
+        this.registry = registry;
+        this.dropped = Counter.builder(DROPPED)
+                .description("Access log records dropped because the writer fell behind")
+                .register(registry);
+    }
+
+    /**
+     * Called on the request thread. Returns false if the record was dropped.
+     */
+    public boolean record(String method, String uriTemplate, String uri, int status, long bytes, long elapsedNanos) {
+        if (buffer.offer(method, uriTemplate, uri, status, bytes, elapsedNanos, System.currentTimeMillis())) {
+            if (idle) {
+                idle = false;
+                LockSupport.unpark(writer);
+            }
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    int drain() {
+        return buffer.drain(this::write, DRAIN_BATCH);
+    }
+
+    private void write(AccessLogRingBuffer.Entry entry) {
+        String uriTemplate = entry.uriTemplate == null ? UNMATCHED : entry.uriTemplate;
+        timers.computeIfAbsent(new TimerKey(entry.method, uriTemplate, entry.status), this::timer)
+                .record(entry.elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (logger.isInfoEnabled()) {
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(entry.timestamp)).append(' ')
+                    .append(entry.method).append(' ')
+                    .append(entry.uri).append(' ')
+                    .append(uriTemplate).append(' ')
+                    .append(entry.status).append(' ')
+                    .append(entry.bytes).append(' ')
+                    .append(entry.elapsedNanos / 1_000).append("us");
+            logger.info(line.toString());
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder(LATENCY)
+                .description("Request latency by endpoint, recorded off the request thread")
+                .tag("method", key.method())
+                .tag("uri", key.uriTemplate())
+                .tag("status", Integer.toString(key.status()))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private void run() {
+        while (running) {
+            if (drain() > 0) {
+                continue;
+            }
+            idle = true;
+            // Look again after announcing: a record offered before the flag was visible would not wake us
+            if (drain() == 0 && running) {
+                LockSupport.park(this);
+            }
+            idle = false;
+        }
+        while (drain() > 0) {
+            // flush what was recorded before shutdown
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record TimerKey(String method, String uriTemplate, int status) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.infra.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated entries. Producers never block:
+ * {@link #offer} returns false when the consumer has fallen a full lap behind.
+ */
+class AccessLogRingBuffer {
+
+    static final class Entry {
+        String method;
+        String uriTemplate;
+        String uri;
+        int status;
+        long bytes;
+        long elapsedNanos;
+        long timestamp;
+        private volatile long sequence = -1;
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AccessLogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        entries = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+        }
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    boolean offer(String method, String uriTemplate, String uri, int status, long bytes, long elapsedNanos, long timestamp) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= entries.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Entry entry = entries[(int) sequence & mask];
+        entry.method = method;
+        entry.uriTemplate = uriTemplate;
+        entry.uri = uri;
+        entry.status = status;
+        entry.bytes = bytes;
+        entry.elapsedNanos = elapsedNanos;
+        entry.timestamp = timestamp;
+        entry.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published entries to {@code consumer} in order. Must only be called from one thread.
+     * Entries are reused, so the consumer must not keep references to them.
+     */
+    int drain(Consumer<Entry> consumer, int max) {
+        long sequence = consumed;
+        int drained = 0;
+        while (drained < max) {
+            Entry entry = entries[(int) sequence & mask];
+            if (entry.sequence != sequence) {
+                break;
+            }
+            consumer.accept(entry);
+            sequence++;
+            drained++;
+        }
+        consumed = sequence;
+        return drained;
+    }
+}
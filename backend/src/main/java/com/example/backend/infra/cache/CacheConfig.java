@@ -0,0 +1,43 @@
+package com.example.backend.infra.cache;
+
+import com.example.backend.domain.entity.SerializedResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String USERS = "users";
+    public static final String RESPONSES = "responses";
+
+    @Value("${app.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String cacheSpec;
+
+    @Value("${app.cache.responses.max-bytes:33554432}")
+    private long responseCacheBytes;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS, USERS);
+        cacheManager.setCacheSpecification(cacheSpec);
+        cacheManager.setAllowNullValues(false);
+        // Serialized bodies vary from a few hundred bytes to megabytes, so this one is bounded by size
+        cacheManager.registerCustomCache(RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(responseCacheBytes)
+                .weigher((key, value) -> value instanceof SerializedResponse response ? response.weight() : 1)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.infra.cache;
+
+import com.example.backend.domain.entity.SerializedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class ResponseSerializer {
+
+    /**
+     * Below this size the gzip header and the extra CPU on the client cost more than the bytes saved.
+     */
+    static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectWriter writer;
+
+    @Autowired
+    public ResponseSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    public SerializedResponse serialize(Object body, Integer nextCursor) {
+        try {
+            byte[] json = writer.writeValueAsBytes(body);
+            return new SerializedResponse(etag(json), json, gzip(json), nextCursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * First 128 bits of the SHA-256 of the body. Two instances, or a primary and a replica, that produce the same
+     * bytes agree on the tag, and different bytes never share one.
+     */
+    static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        if (json.length < GZIP_MIN_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.size() < json.length ? out.toByteArray() : null;
+    }
+}
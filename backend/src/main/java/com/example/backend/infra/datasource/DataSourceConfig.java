@@ -0,0 +1,98 @@
+package com.example.backend.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Lets MySQL Connector/J rewrite batched INSERTs into multi-row statements, which is what makes
+     * {@code ExecutorType.BATCH} pay off over the network. Other drivers reject the property, so it is MySQL only.
+     */
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatementsPostProcessor(
+            @Value("${app.datasource.rewrite-batched-statements:true}") boolean rewriteBatchedStatements
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (rewriteBatchedStatements && bean instanceof HikariDataSource dataSource) {
+                    enableRewriteBatchedStatements(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Only created when {@code app.datasource.replica-urls} is set. The pools are owned by the routing data source
+     * and closed with it; MyBatis and the SQL initializer use the lazy proxy below.
+     */
+    @Bean
+    @ConditionalOnProperty("app.datasource.replica-urls")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${app.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${app.datasource.replica-connection-timeout:1s}") Duration replicaConnectionTimeout,
+            @Value("${app.datasource.replica-fallback:true}") boolean fallbackToPrimary,
+            @Value("${app.datasource.read-your-writes-window:2s}") Duration readYourWritesWindow,
+            @Value("${app.datasource.rewrite-batched-statements:true}") boolean rewriteBatchedStatements
+    ) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        if (rewriteBatchedStatements) {
+            enableRewriteBatchedStatements(primary);
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            // Fail over to the next replica quickly instead of waiting out the primary's timeout
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, fallbackToPrimary, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty("app.datasource.replica-urls")
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    private static void enableRewriteBatchedStatements(HikariDataSource dataSource) {
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.infra.events;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Connection limits sized for long-lived /books/events subscribers. application.properties still takes precedence.
+ * Scheduling is enabled for the book change journal's compaction and the borrow record archival.
+ */
+@Configuration
+@EnableScheduling
+@PropertySource("classpath:events.properties")
+public class EventsConfig {
+}
@@ -0,0 +1,57 @@
+package com.example.backend.infra.mapper;
+
+import com.example.backend.domain.entity.BookChangeType;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface BookChangeMapper {
+
+    @Select("SELECT horizon FROM book_change_versions WHERE id = 1")
+    long findHorizon();
+
+    @Insert("""
+            <script>
+            INSERT INTO
+                book_changes (book_id, change_type, changed_at)
+            VALUES
+                <foreach collection="bookIds" item="bookId" separator=",">
+                    (#{bookId}, #{type}, #{changedAt})
+                </foreach>
+            </script>
+            """)
+    void insertChanges(BookChangeType type, List<Integer> bookIds, LocalDateTime changedAt);
+
+    @Select("SELECT version FROM book_changes WHERE version > #{after} ORDER BY version LIMIT #{limit}")
+    List<Long> findVersionsAfter(long after, int limit);
+
+    @Select("""
+            SELECT DISTINCT
+                book_id
+            FROM
+                book_changes
+            WHERE
+                version > #{since}
+            AND
+                version <= #{until}
+            ORDER BY
+                book_id
+            LIMIT #{limit}
+            """)
+    List<Integer> findChangedBookIds(long since, long until, int limit);
+
+    @Select("SELECT MAX(version) FROM book_changes WHERE changed_at < #{before}")
+    Long findLastVersionBefore(LocalDateTime before);
+
+    @Delete("DELETE FROM book_changes WHERE version <= #{version}")
+    int deleteThrough(long version);
+
+    @Update("UPDATE book_change_versions SET horizon = #{version} WHERE id = 1 AND horizon < #{version}")
+    void advanceHorizon(long version);
+}
@@ -1,28 +1,63 @@
 package com.example.backend.infra.mapper;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.BookSearchKey;
 import com.example.backend.domain.entity.Status;
+import com.example.backend.infra.cache.CacheConfig;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.cache.annotation.CacheEvict;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface BookMapper {
 
     List<Book> findAllBooks();
 
+    List<Book> findBooks(BookQuery query);
+
+    Cursor<BookSearchKey> streamSearchKeys();
+
+    List<BookSearchKey> findSearchKeysByIds(List<Integer> ids);
+
     void insertBook(Book book);
 
+    /**
+     * Same insert as {@link #insertBook}, but writes the generated id back under {@code id}, which a record can't hold.
+     */
+    void insertBookReturningId(Map<String, Object> book);
+
+    List<Book> findBooksWithoutSearchKey(int afterId, int limit);
+
+    int updateSearchKey(Book book);
+
+    int findLastInsertId();
+
     Book findById(int id);
 
+    List<Book> findByIds(List<Integer> ids);
+
     Status findStatusById(int id);
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     int deleteById(int id);
 
-    void borrowBook(int id);
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    int borrowBook(int id);
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     void returnBook(int id);
 
+    List<Integer> lockAvailableIds(List<Integer> ids);
+
+    // Callers evict the touched ids themselves, see BorrowRecordService
+    int borrowBooks(List<Integer> ids);
+
+    int returnBooks(List<Integer> ids);
+
     List<Book> search(String keyword);
 
     List<Book> getPopularBooks();
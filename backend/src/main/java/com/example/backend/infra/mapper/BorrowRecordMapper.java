@@ -1,26 +1,136 @@
 package com.example.backend.infra.mapper;
 
+import com.example.backend.domain.entity.ActiveLoan;
 import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.LoanSummary;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface BorrowRecordMapper {
 
+    /**
+     * Filters and pages one history table as {@code r}; closes the parenthesised subquery it is appended to.
+     */
+    String HISTORY_PAGE = """
+              <where>
+                <if test='userId != null'>AND r.user_id = #{userId}</if>
+                <if test='bookId != null'>AND r.book_id = #{bookId}</if>
+                <if test='from != null'>AND r.borrowed_date &gt;= #{from}</if>
+                <if test='to != null'>AND r.borrowed_date &lt; #{to}</if>
+                <if test='cursorDate != null'>
+                  AND (r.borrowed_date &lt; #{cursorDate} OR (r.borrowed_date = #{cursorDate} AND r.id &lt; #{cursorId}))
+                </if>
+              </where>
+              ORDER BY r.borrowed_date DESC, r.id DESC
+              LIMIT #{limit})
+            """;
+
     @Select("SELECT * FROM borrow_records")
     List<BorrowRecord> findAllBorrowRecords();
 
+    /**
+     * Unordered, so the first row arrives without the table being read and sorted first.
+     */
+    @Select("SELECT * FROM borrow_records")
+    @Options(fetchSize = 1000)
+    Cursor<BorrowRecord> streamAllBorrowRecords();
+
+    @Select("SELECT * FROM borrow_records_archive")
+    @Options(fetchSize = 1000)
+    Cursor<BorrowRecord> streamArchivedBorrowRecords();
+
     @Select("SELECT * FROM borrow_records WHERE user_id = #{userId}")
     List<BorrowRecord> findByUserId(int userId);
 
     @Select("SELECT * FROM borrow_records WHERE book_id = #{bookId}")
     List<BorrowRecord> findByBookId(int bookId);
 
+    /**
+     * Seeks the {@code (user_id|book_id, borrowed_date, id)} history index from the cursor and stops after
+     * {@code limit} rows, so a page costs the same however long the history is. The archive is read the same way
+     * and the two pages are merged. Open loans are reached through {@code open_loans} instead.
+     */
+    @Select("<script>"
+            + "SELECT * FROM ("
+            + "  (SELECT r.* FROM borrow_records r"
+            + "  <if test='openOnly'>"
+            + "    JOIN open_loans o ON o.borrow_record_id = r.id"
+            + "    <if test='userId != null'>AND o.user_id = #{userId}</if>"
+            + "    <if test='bookId != null'>AND o.book_id = #{bookId}</if>"
+            + "  </if>"
+            + HISTORY_PAGE
+            + "  <if test='includeArchived and !openOnly'>"
+            + "    UNION ALL"
+            + "    (SELECT r.* FROM borrow_records_archive r"
+            + HISTORY_PAGE
+            + "  </if>"
+            + ") page "
+            + "ORDER BY borrowed_date DESC, id DESC "
+            + "LIMIT #{limit}"
+            + "</script>")
+    List<BorrowRecord> findHistory(BorrowRecordQuery query);
+
+    /**
+     * Reads {@code open_loans}, so the cost follows the user's active loans rather than their history.
+     */
+    @Select("""
+            SELECT
+                r.*
+            FROM
+                open_loans o
+            JOIN
+                borrow_records r ON r.id = o.borrow_record_id
+            WHERE
+                o.user_id = #{userId}
+            ORDER BY
+                r.id
+            """)
+    List<BorrowRecord> findOpenByUserId(int userId);
+
+    @Select("""
+            SELECT
+                r.id, r.book_id, b.title, r.borrowed_date
+            FROM
+                open_loans o
+            JOIN
+                borrow_records r ON r.id = o.borrow_record_id
+            JOIN
+                books b ON b.id = o.book_id
+            WHERE
+                o.user_id = #{userId}
+            ORDER BY
+                r.borrowed_date DESC, r.id DESC
+            """)
+    List<ActiveLoan> findActiveLoansByUserId(int userId);
+
+    /**
+     * One row: open loans come from {@code open_loans}, and the count and latest date are read off the
+     * {@code (user_id, borrowed_date, ...)} indexes of the hot and archive tables. A loan that is still open can be
+     * older than an archived one, so the latest date takes the greater of the two tables.
+     */
+    @Select("""
+            SELECT
+                (SELECT COUNT(*) FROM open_loans WHERE user_id = #{userId}) AS active_loans,
+                (SELECT COUNT(*) FROM borrow_records WHERE user_id = #{userId})
+                    + (SELECT COUNT(*) FROM borrow_records_archive WHERE user_id = #{userId}) AS total_borrowed,
+                GREATEST(COALESCE(h.last_borrowed_date, a.last_borrowed_date), COALESCE(a.last_borrowed_date, h.last_borrowed_date))
+                    AS last_borrowed_date
+            FROM
+                (SELECT MAX(borrowed_date) AS last_borrowed_date FROM borrow_records WHERE user_id = #{userId}) h,
+                (SELECT MAX(borrowed_date) AS last_borrowed_date FROM borrow_records_archive WHERE user_id = #{userId}) a
+            """)
+    LoanSummary findSummaryByUserId(int userId);
+
     @Insert("""
             INSERT INTO
                 borrow_records (user_id, book_id, borrowed_date)
@@ -44,4 +154,130 @@ public interface BorrowRecordMapper {
             IS NULL
             """)
     int updateBorrowRecord(int borrowRecordId, int bookId);
+
+    @Insert("""
+            <script>
+            INSERT INTO
+                borrow_records (user_id, book_id, borrowed_date)
+            VALUES
+                <foreach collection="borrowRecords" item="record" separator=",">
+                    (#{record.userId}, #{record.bookId}, #{record.borrowedDate})
+                </foreach>
+            </script>
+            """)
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBorrowRecords(List<BorrowRecord> borrowRecords);
+
+    @Select("""
+            <script>
+            SELECT
+                *
+            FROM
+                borrow_records
+            WHERE
+                returned_date IS NULL
+            AND
+                id IN
+                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            FOR UPDATE
+            </script>
+            """)
+    List<BorrowRecord> lockOpenByIds(List<Integer> ids);
+
+    @Update("""
+            <script>
+            UPDATE
+                borrow_records
+            SET
+                returned_date = NOW()
+            WHERE
+                returned_date IS NULL
+            AND
+                id IN
+                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </script>
+            """)
+    int updateBorrowRecords(List<Integer> ids);
+
+    @Insert("INSERT INTO open_loans (borrow_record_id, user_id, book_id) VALUES (#{id}, #{userId}, #{bookId})")
+    void insertOpenLoan(BorrowRecord borrowRecord);
+
+    @Insert("""
+            <script>
+            INSERT INTO
+                open_loans (borrow_record_id, user_id, book_id)
+            VALUES
+                <foreach collection="borrowRecords" item="record" separator=",">
+                    (#{record.id}, #{record.userId}, #{record.bookId})
+                </foreach>
+            </script>
+            """)
+    int insertOpenLoans(List<BorrowRecord> borrowRecords);
+
+    @Delete("DELETE FROM open_loans WHERE borrow_record_id = #{borrowRecordId}")
+    int deleteOpenLoan(int borrowRecordId);
+
+    @Delete("""
+            <script>
+            DELETE FROM
+                open_loans
+            WHERE
+                borrow_record_id IN
+                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </script>
+            """)
+    int deleteOpenLoans(List<Integer> ids);
+
+    /**
+     * Locks up to {@code limit} records returned before {@code before}. Returned records are never updated again,
+     * so the lock only keeps two archivers from moving the same rows.
+     */
+    @Select("""
+            SELECT
+                id
+            FROM
+                borrow_records
+            WHERE
+                returned_date < #{before}
+            LIMIT
+                #{limit}
+            FOR UPDATE
+            """)
+    List<Integer> lockArchivableIds(LocalDateTime before, int limit);
+
+    @Insert("""
+            <script>
+            INSERT INTO
+                borrow_records_archive (id, user_id, book_id, borrowed_date, returned_date)
+            SELECT
+                id, user_id, book_id, borrowed_date, returned_date
+            FROM
+                borrow_records
+            WHERE
+                id IN
+                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </script>
+            """)
+    int archiveByIds(List<Integer> ids);
+
+    @Delete("""
+            <script>
+            DELETE FROM
+                borrow_records
+            WHERE
+                id IN
+                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </script>
+            """)
+    int deleteByIds(List<Integer> ids);
 }
@@ -1,11 +1,14 @@
 package com.example.backend.infra.mapper;
 
+import com.example.backend.domain.entity.Avatar;
 import com.example.backend.domain.entity.User;
+import com.example.backend.infra.cache.CacheConfig;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
+import org.springframework.cache.annotation.CacheEvict;
 
 import java.util.List;
 
@@ -22,6 +25,20 @@ public interface UserMapper {
     @Options(useGeneratedKeys = true, keyProperty = "id")
     void insert(User user);
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     @Delete("DELETE FROM users WHERE id = #{id}")
     int deleteById(int id);
+
+    @Select("SELECT hash, content_type AS contentType FROM user_avatars WHERE user_id = #{userId}")
+    Avatar findAvatar(int userId);
+
+    @Insert("""
+            INSERT INTO
+                user_avatars (user_id, hash, content_type)
+            VALUES
+                (#{userId}, #{avatar.hash}, #{avatar.contentType})
+            ON DUPLICATE KEY UPDATE
+                hash = VALUES(hash), content_type = VALUES(content_type)
+            """)
+    void upsertAvatar(int userId, Avatar avatar);
 }
@@ -0,0 +1,78 @@
+package com.example.backend.infra.metrics;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.PluginException;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link Plugin#wrap} for executors, with the {@code @Intercepts} signatures resolved once per interceptor.
+ * <p>
+ * MyBatis wraps a new executor for every session, and {@link Plugin#wrap} reflects over the annotation and the
+ * target's interfaces each time, which costs more than a primary key lookup on H2. Calls that match a signature
+ * still go through {@link Interceptor#intercept}; everything else goes straight to the target.
+ */
+final class ExecutorPlugin implements InvocationHandler {
+
+    private final Executor target;
+    private final Interceptor interceptor;
+    private final Set<Method> methods;
+
+    private ExecutorPlugin(Executor target, Interceptor interceptor, Set<Method> methods) {
+        this.target = target;
+        this.interceptor = interceptor;
+        this.methods = methods;
+    }
+
+    static Set<Method> interceptedMethods(Class<? extends Interceptor> type) {
+        Intercepts intercepts = type.getAnnotation(Intercepts.class);
+        if (intercepts == null) {
+            throw new PluginException("No @Intercepts annotation was found in interceptor " + type.getName());
+        }
+        Set<Method> methods = new HashSet<>();
+        for (Signature signature : intercepts.value()) {
+            if (signature.type() != Executor.class) {
+                throw new PluginException(type.getName() + " may only intercept Executor methods");
+            }
+            try {
+                methods.add(Executor.class.getMethod(signature.method(), signature.args()));
+            } catch (NoSuchMethodException e) {
+                throw new PluginException("Could not find method on Executor named " + signature.method(), e);
+            }
+        }
+        return Set.copyOf(methods);
+    }
+
+    static Object wrap(Object target, Interceptor interceptor, Set<Method> methods) {
+        if (!(target instanceof Executor executor)) {
+            return target;
+        }
+        return Proxy.newProxyInstance(
+                Executor.class.getClassLoader(),
+                new Class<?>[]{Executor.class},
+                new ExecutorPlugin(executor, interceptor, methods)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        try {
+            if (methods.contains(method)) {
+                return interceptor.intercept(new Invocation(target, method, args));
+            }
+            return method.invoke(target, args);
+        } catch (Exception e) {
+            throw ExceptionUtil.unwrapThrowable(e);
+        }
+    }
+}
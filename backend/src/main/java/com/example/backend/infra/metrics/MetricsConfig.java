@@ -0,0 +1,12 @@
+package com.example.backend.infra.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Defaults for the actuator endpoints. application.properties still takes precedence.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
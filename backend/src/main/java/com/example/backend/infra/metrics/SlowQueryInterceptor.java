@@ -0,0 +1,114 @@
+package com.example.backend.infra.metrics;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands statements slower than {@code app.slow-query.threshold} to {@link SlowQueryLog} together with their
+ * bind parameters. Statements under the threshold only pay for two {@link System#nanoTime()} calls.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+@Component
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryInterceptor implements Interceptor {
+
+    private static final Set<Method> INTERCEPTED = ExecutorPlugin.interceptedMethods(SlowQueryInterceptor.class);
+
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryInterceptor.class);
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+
+    @Autowired
+    public SlowQueryInterceptor(
+            SlowQueryLog slowQueryLog,
+            @Value("${app.slow-query.threshold:200ms}") Duration threshold
+    ) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return ExecutorPlugin.wrap(target, this, INTERCEPTED);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            check((MappedStatement) args[0], args[1], args.length == 6 ? (BoundSql) args[5] : null, start);
+        }
+    }
+
+    private void check(MappedStatement ms, Object parameter, BoundSql boundSql, long start) {
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        try {
+            BoundSql sql = boundSql != null ? boundSql : ms.getBoundSql(parameter);
+            List<String> names = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (ParameterMapping mapping : sql.getParameterMappings()) {
+                if (mapping.getMode() != ParameterMode.OUT) {
+                    names.add(mapping.getProperty());
+                    values.add(value(ms.getConfiguration(), sql, parameter, mapping.getProperty()));
+                }
+            }
+            slowQueryLog.record(StatementMetricsInterceptor.shortId(ms.getId()), sql.getSql(), names, values, elapsed);
+        } catch (RuntimeException e) {
+            logger.warn("failed to record slow query {}", ms.getId(), e);
+        }
+    }
+
+    /**
+     * Resolves a bind parameter the same way {@code DefaultParameterHandler} does.
+     */
+    private static Object value(Configuration configuration, BoundSql boundSql, Object parameter, String property) {
+        if (boundSql.hasAdditionalParameter(property)) {
+            return boundSql.getAdditionalParameter(property);
+        }
+        if (parameter == null) {
+            return null;
+        }
+        if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+            return parameter;
+        }
+        return configuration.newMetaObject(parameter).getValue(property);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.backend.infra.metrics;
+
+import com.example.backend.domain.entity.SlowQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, newest-first store of statements that went over the slow query threshold.
+ * <p>
+ * EXPLAIN runs on a single background thread with its own connection, so the request that hit the slow
+ * statement never waits for it. When the EXPLAIN queue is full the query is stored without a plan rather
+ * than piling more work onto a database that is already slow.
+ */
+@Component
+public class SlowQueryLog implements DisposableBean {
+
+    static final String MASK = "****";
+    private static final int EXPLAIN_QUEUE_SIZE = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final DataSource dataSource;
+    private final int capacity;
+    private final Set<String> maskedParameters;
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    @Autowired
+    public SlowQueryLog(
+            DataSource dataSource,
+            @Value("${app.slow-query.capacity:200}") int capacity,
+            @Value("${app.slow-query.masked-parameters:password,email,token}") String[] maskedParameters
+    ) {
+        this.dataSource = dataSource;
+        this.capacity = capacity;
+        this.maskedParameters = Arrays.stream(maskedParameters)
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @param names  bind parameter names, used to decide what to mask
+     * @param values bind parameter values in placeholder order; only used unmasked for EXPLAIN
+     */
+    public void record(String statement, String sql, List<String> names, List<Object> values, long elapsedNanos) {
+        List<Object> parameters = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            parameters.add(isMasked(names.get(i)) ? MASK : values.get(i));
+        }
+        SlowQuery query = new SlowQuery(
+                statement,
+                sql.replaceAll("\\s+", " ").trim(),
+                parameters,
+                elapsedNanos / 1_000_000.0,
+                Instant.now(),
+                List.of()
+        );
+        logger.warn("slow query {} took {} ms: {} {}", statement, query.durationMillis(), query.sql(), parameters);
+
+        try {
+            explainExecutor.execute(() -> add(query.withPlan(explain(sql, values))));
+        } catch (RejectedExecutionException e) {
+            add(query);
+        }
+    }
+
+    public List<SlowQuery> find(String statement, int limit) {
+        synchronized (entries) {
+            return entries.stream()
+                    .filter(query -> statement == null || query.statement().equals(statement))
+                    .limit(limit)
+                    .toList();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    boolean isMasked(String name) {
+        String property = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return maskedParameters.stream().anyMatch(property::contains);
+    }
+
+    private void add(SlowQuery query) {
+        synchronized (entries) {
+            entries.addFirst(query);
+            while (entries.size() > capacity) {
+                entries.removeLast();
+            }
+        }
+    }
+
+    private List<Map<String, Object>> explain(String sql, List<Object> values) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < values.size(); i++) {
+                    Object value = values.get(i);
+                    statement.setObject(i + 1, value instanceof Enum<?> e ? e.name() : value);
+                }
+                return rows(statement.executeQuery());
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("failed to explain {}", sql, e);
+            return List.of();
+        }
+    }
+
+    private static List<Map<String, Object>> rows(ResultSet resultSet) throws SQLException {
+        try (resultSet) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    row.put(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT), resultSet.getObject(column));
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.infra.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, row counts and errors for every mapped statement, tagged with a short statement id
+ * such as {@code BookMapper.search}.
+ * <p>
+ * Executors are wrapped through {@link ExecutorPlugin}, which resolves the signatures once instead of on every
+ * session, and meters are cached per statement.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+@Component
+@ConditionalOnProperty(name = "app.metrics.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementMetricsInterceptor implements Interceptor {
+
+    static final String LATENCY = "mybatis.statement";
+    static final String ROWS = "mybatis.statement.rows";
+    static final String ERRORS = "mybatis.statement.errors";
+
+    private static final Set<Method> INTERCEPTED = ExecutorPlugin.interceptedMethods(StatementMetricsInterceptor.class);
+
+    private final MeterRegistry registry;
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StatementMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return ExecutorPlugin.wrap(target, this, INTERCEPTED);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementMeters statementMeters = meters((MappedStatement) invocation.getArgs()[0]);
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            statementMeters.record(start, rows(result));
+            return result;
+        } catch (Throwable e) {
+            statementMeters.fail(start);
+            throw e;
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        // A cursor fetches its rows after the statement returns, so there is nothing to count yet
+        return result instanceof Integer count ? count : -1;
+    }
+
+    static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return id.substring(type + 1);
+    }
+
+    private StatementMeters meters(MappedStatement statement) {
+        StatementMeters statementMeters = meters.get(statement.getId());
+        if (statementMeters == null) {
+            statementMeters = meters.computeIfAbsent(statement.getId(), this::register);
+        }
+        return statementMeters;
+    }
+
+    private StatementMeters register(String id) {
+        String statement = shortId(id);
+        return new StatementMeters(
+                Timer.builder(LATENCY)
+                        .description("MyBatis mapped statement latency")
+                        .tag("statement", statement)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry),
+                DistributionSummary.builder(ROWS)
+                        .description("Rows returned or affected by a MyBatis mapped statement")
+                        .tag("statement", statement)
+                        .register(registry),
+                Counter.builder(ERRORS)
+                        .description("MyBatis mapped statements that threw")
+                        .tag("statement", statement)
+                        .register(registry)
+        );
+    }
+
+    private record StatementMeters(Timer latency, DistributionSummary rows, Counter errors) {
+
+        void record(long start, long rows) {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // The batch executor returns a negative placeholder instead of an update count
+            if (rows >= 0) {
+                this.rows.record(rows);
+            }
+        }
+
+        void fail(long start) {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            errors.increment();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.backend.infra.ranking;
+
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BooksBorrowedEvent;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.PopularityWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Borrow counts per book for each {@link PopularityWindow}, kept sorted so the top K can be read
+ * without touching the database. Time windows slide in hourly buckets.
+ * <p>
+ * Borrows and deletions are applied once their transaction commits, so a rolled-back borrow is never counted.
+ * A {@link Rebuild} counts the history into a fresh instance and swaps it in, holding back borrows and deletions
+ * that commit meanwhile so each borrow record is counted exactly once.
+ */
+@Component
+public class PopularityRanking {
+
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final Clock clock;
+    private final long retainedBuckets;
+    // Replaced wholesale when a rebuild finishes
+    private Map<PopularityWindow, Counter> counters = new EnumMap<>(PopularityWindow.class);
+    private NavigableMap<Long, Map<Integer, Integer>> buckets = new TreeMap<>();
+    private long version;
+    private Rebuild rebuild;
+
+    @Autowired
+    public PopularityRanking() {
+        this(Clock.systemUTC());
+    }
+
+    PopularityRanking(Clock clock) {
+        this.clock = clock;
+        long longest = 0;
+        for (PopularityWindow window : PopularityWindow.values()) {
+            long spanBuckets = window.span() == null ? 0 : window.span().toMillis() / BUCKET_MILLIS;
+            counters.put(window, new Counter(spanBuckets));
+            longest = Math.max(longest, spanBuckets);
+        }
+        this.retainedBuckets = longest;
+    }
+
+    public synchronized void record(int bookId, Instant borrowedAt) {
+        long now = advance();
+        long bucket = Math.min(borrowedAt.toEpochMilli() / BUCKET_MILLIS, now);
+        for (Counter counter : counters.values()) {
+            if (counter.includes(bucket)) {
+                counter.add(bookId, 1);
+            }
+        }
+        if (bucket > now - retainedBuckets) {
+            buckets.computeIfAbsent(bucket, b -> new HashMap<>()).merge(bookId, 1, Integer::sum);
+        }
+        version++;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBooksBorrowed(BooksBorrowedEvent event) {
+        for (BorrowRecord borrowRecord : event.borrowRecords()) {
+            if (rebuild != null) {
+                rebuild.holdBorrow(borrowRecord);
+            } else {
+                record(borrowRecord.bookId, borrowRecord.borrowedDate.toInstant());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (event.type() != BookChangeType.DELETED) {
+            return;
+        }
+        for (int bookId : event.bookIds()) {
+            if (rebuild != null) {
+                rebuild.holdRemoval(bookId);
+            } else {
+                remove(bookId);
+            }
+        }
+    }
+
+    /**
+     * Starts counting the history into a fresh instance. Until {@link Rebuild#finish()} or {@link Rebuild#cancel()},
+     * {@link #top} keeps answering from the current counts and committed borrows and deletions are held back.
+     */
+    public synchronized Rebuild startRebuild() {
+        if (rebuild != null) {
+            throw new IllegalStateException("a rebuild is already in progress");
+        }
+        rebuild = new Rebuild();
+        return rebuild;
+    }
+
+    public synchronized List<Integer> top(PopularityWindow window, int limit) {
+        advance();
+        List<Integer> ids = new ArrayList<>(limit);
+        for (Entry entry : counters.get(window).ranking) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.bookId());
+        }
+        return ids;
+    }
+
+    /**
+     * Bumped by every change to the counts. Together with {@link #currentBucket()} it identifies what
+     * {@link #top} returns.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Index of the hourly bucket the time windows currently end in.
+     */
+    public long currentBucket() {
+        return clock.millis() / BUCKET_MILLIS;
+    }
+
+    public synchronized void remove(int bookId) {
+        for (Counter counter : counters.values()) {
+            counter.add(bookId, -counter.count(bookId));
+        }
+        buckets.values().forEach(counts -> counts.remove(bookId));
+        version++;
+    }
+
+    private long advance() {
+        long now = currentBucket();
+        for (Counter counter : counters.values()) {
+            counter.slideTo(now, buckets);
+        }
+        buckets.headMap(now - retainedBuckets, true).clear();
+        return now;
+    }
+
+    private record Entry(long count, int bookId) {
+        static final Comparator<Entry> BY_POPULARITY = Comparator
+                .comparingLong(Entry::count).reversed()
+                .thenComparingInt(Entry::bookId);
+    }
+
+    /**
+     * Fed the history by a single thread, from a read that starts after {@link #startRebuild()} so it includes
+     * every borrow committed before then. A held-back borrow whose record the history also contained is skipped.
+     */
+    public final class Rebuild {
+
+        private final PopularityRanking rebuilt = new PopularityRanking(clock);
+        private final BitSet counted = new BitSet();
+        private final List<Runnable> pending = new ArrayList<>();
+
+        private Rebuild() {
+        }
+
+        public void add(BorrowRecord borrowRecord) {
+            counted.set(borrowRecord.id);
+            rebuilt.record(borrowRecord.bookId, borrowRecord.borrowedDate.toInstant());
+        }
+
+        /**
+         * Swaps in the rebuilt counts, then applies what was held back.
+         */
+        public void finish() {
+            synchronized (PopularityRanking.this) {
+                counters = rebuilt.counters;
+                buckets = rebuilt.buckets;
+                version++;
+                end();
+            }
+        }
+
+        /**
+         * Keeps the current counts and applies what was held back to them.
+         */
+        public void cancel() {
+            synchronized (PopularityRanking.this) {
+                counted.clear();
+                end();
+            }
+        }
+
+        private void end() {
+            pending.forEach(Runnable::run);
+            rebuild = null;
+        }
+
+        private void holdBorrow(BorrowRecord borrowRecord) {
+            pending.add(() -> {
+                if (!counted.get(borrowRecord.id)) {
+                    record(borrowRecord.bookId, borrowRecord.borrowedDate.toInstant());
+                }
+            });
+        }
+
+        private void holdRemoval(int bookId) {
+            pending.add(() -> remove(bookId));
+        }
+    }
+
+    private static final class Counter {
+        private final long spanBuckets;
+        private final Map<Integer, Long> counts = new HashMap<>();
+        private final TreeSet<Entry> ranking = new TreeSet<>(Entry.BY_POPULARITY);
+        private long firstBucket = Long.MIN_VALUE;
+
+        Counter(long spanBuckets) {
+            this.spanBuckets = spanBuckets;
+        }
+
+        boolean includes(long bucket) {
+            return bucket >= firstBucket;
+        }
+
+        long count(int bookId) {
+            return counts.getOrDefault(bookId, 0L);
+        }
+
+        void add(int bookId, long delta) {
+            long before = count(bookId);
+            long after = before + delta;
+            if (before > 0) {
+                ranking.remove(new Entry(before, bookId));
+            }
+            if (after > 0) {
+                counts.put(bookId, after);
+                ranking.add(new Entry(after, bookId));
+            } else {
+                counts.remove(bookId);
+            }
+        }
+
+        void slideTo(long now, NavigableMap<Long, Map<Integer, Integer>> buckets) {
+            if (spanBuckets == 0) {
+                return;
+            }
+            long newFirstBucket = now - spanBuckets + 1;
+            if (newFirstBucket <= firstBucket) {
+                return;
+            }
+            if (firstBucket != Long.MIN_VALUE) {
+                buckets.subMap(firstBucket, true, newFirstBucket, false).values()
+                        .forEach(expired -> expired.forEach((bookId, count) -> add(bookId, -count)));
+            }
+            firstBucket = newFirstBucket;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.backend.infra.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the character bigrams and trigrams of book titles.
+ * Titles and keywords are compared after {@link TitleNormalizer#normalize(String)}, and search results
+ * keep the substring semantics of {@code search_key LIKE '%keyword%'}.
+ */
+@Component
+public class BookTitleIndex {
+
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced wholesale by replaceWith, always under the write lock
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Integer, String> keys = new HashMap<>();
+
+    public void add(int id, String title) {
+        addSearchKey(id, normalize(title));
+    }
+
+    /**
+     * Indexes a key already produced by {@link TitleNormalizer#normalize(String)}, such as {@code books.search_key}.
+     */
+    public void addSearchKey(int id, String key) {
+        lock.writeLock().lock();
+        try {
+            String previous = keys.put(id, key);
+            if (previous != null) {
+                removeGrams(id, previous);
+            }
+            for (String gram : grams(key)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String key = keys.remove(id);
+            if (key != null) {
+                removeGrams(id, key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            keys.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes over the contents of {@code rebuilt}, which must not be used afterwards. Searches see either the old
+     * contents or the new ones, never a partly built index.
+     */
+    public void replaceWith(BookTitleIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt.postings;
+            keys = rebuilt.keys;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the titles containing {@code keyword}, best match first:
+     * exact titles, then earlier match positions, then shorter titles.
+     */
+    public List<Integer> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<Match> ranking = Comparator
+                .comparing((Match m) -> !m.exact())
+                .thenComparingInt(Match::position)
+                .thenComparingInt(Match::length)
+                .thenComparingInt(Match::id);
+        PriorityQueue<Match> best = new PriorityQueue<>(ranking.reversed());
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < MIN_GRAM) {
+                keys.forEach((id, key) -> collect(best, ranking, limit, id, key, query));
+            } else {
+                for (int id : candidates(query)) {
+                    collect(best, ranking, limit, id, keys.get(id), query);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(ranking);
+        return matches.stream().map(Match::id).toList();
+    }
+
+    private int[] candidates(String query) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+
+        Postings smallest = lists.get(0);
+        int[] result = new int[smallest.size];
+        int count = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (inAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void collect(PriorityQueue<Match> best, Comparator<Match> ranking, int limit, int id, String key, String query) {
+        int position = key.indexOf(query);
+        if (position < 0) {
+            return;
+        }
+        Match match = new Match(id, key.length() == query.length(), position, key.length());
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (ranking.compare(match, best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    private void removeGrams(int id, String key) {
+        for (String gram : grams(key)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= key.length(); i++) {
+                grams.add(key.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private Set<String> queryGrams(String query) {
+        int n = Math.min(query.length(), MAX_GRAM);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + n <= query.length(); i++) {
+            grams.add(query.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    private String normalize(String text) {
+        return TitleNormalizer.normalize(text);
+    }
+
+    private record Match(int id, boolean exact, int position, int length) {
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
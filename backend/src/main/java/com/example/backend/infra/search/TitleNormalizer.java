@@ -0,0 +1,34 @@
+package com.example.backend.infra.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Folds the differences that should not matter when searching Japanese titles:
+ * full-width/half-width forms (NFKC), katakana/hiragana and letter case.
+ */
+public final class TitleNormalizer {
+
+    private static final char KATAKANA_SMALL_A = 'ァ';
+    private static final char KATAKANA_SMALL_KE = 'ヶ';
+    private static final int KATAKANA_TO_HIRAGANA = 'ァ' - 'ぁ';
+
+    private TitleNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder folded = new StringBuilder(composed.length());
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (c >= KATAKANA_SMALL_A && c <= KATAKANA_SMALL_KE) {
+                c = (char) (c - KATAKANA_TO_HIRAGANA);
+            }
+            folded.append(c);
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+}
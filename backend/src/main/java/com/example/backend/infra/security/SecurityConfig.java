@@ -2,6 +2,7 @@ package com.example.backend.infra.security;
 
 import com.example.backend.domain.service.AuthUserDetailService;
 import com.example.backend.infra.mapper.UserMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -32,6 +33,9 @@ public class SecurityConfig {
     @Value("${app.security.enabled:true}")
     private boolean securityEnabled;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public UserDetailsService customUserDetailsService(UserMapper userMapper) {
         return new AuthUserDetailService(userMapper);
@@ -52,8 +56,12 @@ public class SecurityConfig {
                             .logoutSuccessHandler((res, req, auth) -> req.setStatus(HttpServletResponse.SC_OK))
                     )
                     .authorizeHttpRequests(auth -> auth
+                            // The original request was already authorized; lets /books/events complete cleanly
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                             .requestMatchers("/login", "/register").permitAll()
-                            .requestMatchers("/session").hasRole("ADMIN")
+                            // Actuator only listens on management.server.port, which stays off the public network
+                            .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
+                            .requestMatchers("/session", "/admin/**").hasRole("ADMIN")
                             .requestMatchers(
                                     "/swagger-ui/**",
                                     "/v3/api-docs/**",
@@ -93,6 +101,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("X-Next-Cursor", "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
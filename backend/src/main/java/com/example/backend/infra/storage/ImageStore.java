@@ -0,0 +1,229 @@
+package com.example.backend.infra.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image files: each distinct upload is kept once under {@code <root>/<ab>/<sha256>.<ext>}, so
+ * the same image uploaded by many users costs one file. Uploads are hashed while they are copied to a temporary
+ * file and then moved into place, so a half-written file is never visible under its final name.
+ * <p>
+ * Thumbnails are scaled on a small bounded pool. When its queue is full the thumbnail is skipped; it is derived
+ * from the original and can be generated again on the next upload of the same image.
+ */
+@Component
+public class ImageStore implements DisposableBean {
+
+    private static final Map<String, String> EXTENSIONS = Map.of("image/jpeg", "jpg", "image/png", "png");
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Logger logger = LoggerFactory.getLogger(ImageStore.class);
+
+    private final Path root;
+    private final Path temporary;
+    private final int thumbnailSize;
+    private final ThreadPoolExecutor thumbnailExecutor;
+
+    @Autowired
+    public ImageStore(
+            @Value("${app.images.dir:backend/src/main/images}") Path root,
+            @Value("${app.images.thumbnail-size:128}") int thumbnailSize,
+            @Value("${app.images.thumbnail-threads:2}") int thumbnailThreads,
+            @Value("${app.images.thumbnail-queue:100}") int thumbnailQueue
+    ) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.temporary = Files.createDirectories(this.root.resolve(".tmp"));
+        this.thumbnailSize = thumbnailSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.thumbnailExecutor = new ThreadPoolExecutor(
+                thumbnailThreads, thumbnailThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-thumbnail-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Copies {@code in} into the store and returns its SHA-256. Storing content that is already present only
+     * discards the temporary copy.
+     */
+    public String store(InputStream in, String contentType) throws IOException {
+        extension(contentType);
+        Path upload = Files.createTempFile(temporary, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(upload);
+                 InputStream hashing = new DigestInputStream(in, digest)) {
+                hashing.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path original = original(hash, contentType);
+            if (!Files.exists(original)) {
+                Files.createDirectories(original.getParent());
+                // Same content under the same name, so losing a race to a concurrent upload is harmless
+                Files.move(upload, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Content type of a stored original, found by the extension it was stored under.
+     */
+    public Optional<String> contentTypeOf(String hash) {
+        return EXTENSIONS.keySet().stream()
+                .sorted()
+                .filter(contentType -> Files.exists(original(hash, contentType)))
+                .findFirst();
+    }
+
+    public Path original(String hash, String contentType) {
+        return directory(hash).resolve(hash + "." + extension(contentType));
+    }
+
+    public Path thumbnail(String hash, String contentType) {
+        return directory(hash).resolve(hash + "_" + thumbnailSize + "." + extension(contentType));
+    }
+
+    /**
+     * Completes once the thumbnail exists, or immediately when it already did or the pool is saturated.
+     */
+    public CompletableFuture<Void> generateThumbnail(String hash, String contentType) {
+        Path thumbnail = thumbnail(hash, contentType);
+        if (Files.exists(thumbnail)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.runAsync(
+                    () -> writeThumbnail(original(hash, contentType), thumbnail, extension(contentType)),
+                    thumbnailExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("thumbnail queue is full, skipping {}", hash);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    private void writeThumbnail(Path original, Path thumbnail, String format) {
+        try {
+            BufferedImage source = readForThumbnail(original);
+            if (source == null) {
+                logger.warn("{} is not a readable image, no thumbnail generated", original.getFileName());
+                return;
+            }
+            double scale = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+            int type = format.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            BufferedImage scaled = new BufferedImage(width, height, type);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Path partial = Files.createTempFile(temporary, "thumbnail-", ".tmp");
+            try {
+                ImageIO.write(scaled, format, partial.toFile());
+                Files.move(partial, thumbnail, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to generate thumbnail for {}", original.getFileName(), e);
+        }
+    }
+
+    /**
+     * Subsamples while decoding, so a large photo is never fully expanded in memory just to be shrunk.
+     */
+    private BufferedImage readForThumbnail(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                // Keep twice the target resolution so the final scale still has pixels to average
+                int step = Math.max(1, longest / (thumbnailSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path directory(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("invalid image hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2));
+    }
+
+    private static String extension(String contentType) {
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("unsupported image type: " + contentType);
+        }
+        return extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
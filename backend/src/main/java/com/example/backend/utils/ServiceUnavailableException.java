@@ -0,0 +1,8 @@
+package com.example.backend.utils;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
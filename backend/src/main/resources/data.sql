@@ -11,20 +11,20 @@ VALUES
     ('いとう あみ', 'itoami@example.com', '$2a$10$FYwnQLWSG.QGelTTW8JD2uJEtncJ9pVOxKaSBg03ddoWx7aWGnpg6', 'USER');
 
 INSERT INTO books
-    (title, status)
+    (title, status, search_key)
 VALUES
-    ('吾輩は猫である', 'BORROWED'),
-    ('こころ', 'BORROWED'),
-    ('羅生門', 'BORROWED'),
-    ('ガリバー旅行記', 'AVAILABLE'),
-    ('走れメロス', 'AVAILABLE'),
-    ('Java入門', 'AVAILABLE'),
-    ('Master of JavaScript', 'AVAILABLE'),
-    ('うらしま太郎の物語', 'BORROWED'),
-    ('Javaプログラミング完全ガイド', 'BORROWED'),
-    ('Effective Java 第3版', 'AVAILABLE'),
-    ('JavaとSpring Boot入門', 'AVAILABLE'),
-    ('Javaパフォーマンスチューニング', 'AVAILABLE');
+    ('吾輩は猫である', 'BORROWED', '吾輩は猫である'),
+    ('こころ', 'BORROWED', 'こころ'),
+    ('羅生門', 'BORROWED', '羅生門'),
+    ('ガリバー旅行記', 'AVAILABLE', 'がりばー旅行記'),
+    ('走れメロス', 'AVAILABLE', '走れめろす'),
+    ('Java入門', 'AVAILABLE', 'java入門'),
+    ('Master of JavaScript', 'AVAILABLE', 'master of javascript'),
+    ('うらしま太郎の物語', 'BORROWED', 'うらしま太郎の物語'),
+    ('Javaプログラミング完全ガイド', 'BORROWED', 'javaぷろぐらみんぐ完全がいど'),
+    ('Effective Java 第3版', 'AVAILABLE', 'effective java 第3版'),
+    ('JavaとSpring Boot入門', 'AVAILABLE', 'javaとspring boot入門'),
+    ('Javaパフォーマンスチューニング', 'AVAILABLE', 'javaぱふぉーまんすちゅーにんぐ');
 
 INSERT INTO borrow_records
     (user_id, book_id, borrowed_date, returned_date)
@@ -41,3 +41,6 @@ VALUES
     (6, 3, Now(), NULL),
     (6, 8, Now(), NULL),
     (3, 4, '2025-02-01 10:30:00',Now());
+
+INSERT INTO open_loans (borrow_record_id, user_id, book_id)
+SELECT id, user_id, book_id FROM borrow_records WHERE returned_date IS NULL;
@@ -8,11 +8,23 @@ CREATE TABLE IF NOT EXISTS users (
     UNIQUE(email)
 );
 
+CREATE TABLE IF NOT EXISTS user_avatars (
+    user_id INTEGER NOT NULL PRIMARY KEY,
+    hash CHAR(64) NOT NULL,
+    content_type VARCHAR(20) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS books (
     id INTEGER AUTO_INCREMENT NOT NULL,
     title VARCHAR(50) NOT NULL,
     status ENUM('AVAILABLE', 'BORROWED') NOT NULL DEFAULT 'AVAILABLE',
-    PRIMARY KEY (id)
+    -- No index: LIKE '%keyword%' cannot use a B-tree. BookService loads these keys into the in-memory BookTitleIndex,
+    -- which serves keyword search, so titles are normalized once when they are written.
+    -- Existing databases need the column added by hand, see the README; BookService backfills the keys at startup.
+    search_key VARCHAR(200) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_books_status_id (status, id)
 );
 
 CREATE TABLE IF NOT EXISTS borrow_records (
@@ -22,5 +34,50 @@ CREATE TABLE IF NOT EXISTS borrow_records (
     borrowed_date DATETIME NOT NULL,
     returned_date DATETIME,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE
+    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
+    -- Cover SELECT * per user and per book, newest first, without touching the clustered index
+    INDEX idx_borrow_records_user_history (user_id, borrowed_date, id, book_id, returned_date),
+    INDEX idx_borrow_records_book_history (book_id, borrowed_date, id, user_id, returned_date),
+    INDEX idx_borrow_records_returned_date (returned_date)
+);
+
+-- Returned records older than app.borrow-records.archive-after, moved out by BorrowRecordArchiveService
+CREATE TABLE IF NOT EXISTS borrow_records_archive (
+    id INTEGER NOT NULL PRIMARY KEY,
+    user_id INTEGER,
+    book_id INTEGER,
+    borrowed_date DATETIME NOT NULL,
+    returned_date DATETIME NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
+    INDEX idx_borrow_records_archive_user_history (user_id, borrowed_date, id, book_id, returned_date),
+    INDEX idx_borrow_records_archive_book_history (book_id, borrowed_date, id, user_id, returned_date)
+);
+
+-- One row per borrow record that has not been returned yet, maintained with it in the same transaction
+CREATE TABLE IF NOT EXISTS open_loans (
+    borrow_record_id INTEGER NOT NULL PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    book_id INTEGER NOT NULL,
+    UNIQUE (book_id),
+    INDEX idx_open_loans_user (user_id),
+    FOREIGN KEY (borrow_record_id) REFERENCES borrow_records(id) ON DELETE CASCADE
+);
+
+-- Each row takes its version from AUTO_INCREMENT, so concurrent writers never queue on a shared counter row.
+-- Versions can commit out of order; BookChangeService only hands out versions with no recent gap below them.
+CREATE TABLE IF NOT EXISTS book_changes (
+    version BIGINT AUTO_INCREMENT NOT NULL PRIMARY KEY,
+    book_id INTEGER NOT NULL,
+    change_type ENUM('ADDED', 'DELETED', 'BORROWED', 'RETURNED') NOT NULL,
+    changed_at DATETIME NOT NULL,
+    INDEX idx_book_changes_changed_at (changed_at)
+);
+
+-- Versions at or below the horizon have been compacted away
+CREATE TABLE IF NOT EXISTS book_change_versions (
+    id TINYINT NOT NULL PRIMARY KEY,
+    horizon BIGINT NOT NULL
 );
+
+INSERT IGNORE INTO book_change_versions (id, horizon) VALUES (1, 0);
@@ -0,0 +1,80 @@
+package com.example.backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.core.FileAppender;
+import com.example.backend.infra.accesslog.AccessLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of an access log line under contention: the ring buffer hand-off against formatting and
+ * logging synchronously, as the old interceptor did. Both loggers write to the same file appender.
+ * Compare the p99/p99.9 rows of the sample-time output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class AccessLogBenchmark {
+
+    private final org.slf4j.Logger logger = LoggerFactory.getLogger(AccessLogBenchmark.class);
+
+    private SimpleMeterRegistry registry;
+    private AccessLog accessLog;
+    private org.slf4j.Logger synchronousLogger;
+
+    @Setup
+    public void setUp() {
+        var context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %msg%n");
+        encoder.start();
+        var appender = new FileAppender<ch.qos.logback.classic.spi.ILoggingEvent>();
+        appender.setContext(context);
+        appender.setFile("target/benchmark-access.log");
+        appender.setEncoder(encoder);
+        appender.start();
+        for (String name : new String[]{"access", "access.synchronous"}) {
+            Logger logger = context.getLogger(name);
+            logger.setAdditive(false);
+            logger.setLevel(Level.INFO);
+            logger.addAppender(appender);
+        }
+
+        registry = new SimpleMeterRegistry();
+        accessLog = new AccessLog(registry, 8192);
+        accessLog.start();
+        synchronousLogger = LoggerFactory.getLogger("access.synchronous");
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessLog.stop();
+        logger.info("dropped={}", (long) registry.get("access.log.dropped").counter().count());
+    }
+
+    @Benchmark
+    public boolean ringBuffer() {
+        return accessLog.record("GET", "/books/{id}", "/books/1", 200, 128, 1_000);
+    }
+
+    @Benchmark
+    public void synchronous() {
+        synchronousLogger.info(String.format("[%s] %-4s %s", "127.0.0.1", "GET", "/books/1"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.service.BorrowRecordService;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.TitleNormalizer;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the mappers and services against an embedded H2 seeded with {@code books} titles
+ * and {@code borrowRecords} loans on top of test_data.sql. H2's result reuse is turned off so repeated
+ * identical queries are executed instead of served from its last-result cache.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@MapperScan("com.example.backend.infra.mapper")
+@Import({BorrowRecordService.class, PopularityRanking.class, CacheConfig.class})
+class BenchmarkDatabase {
+
+    static final List<String> WORDS = List.of(
+            "Java", "Spring", "入門", "完全ガイド", "猫", "物語", "プログラミング", "旅行記",
+            "Kotlin", "実践", "データベース", "設計", "こころ", "羅生門", "Effective", "第3版"
+    );
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int USERS = 3;
+
+    static ConfigurableApplicationContext start(int books, int borrowRecords, Class<?>... components) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkDatabase.class)
+                .sources(components)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;OPTIMIZE_REUSE_RESULTS=0",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:schema.sql",
+                        "spring.sql.init.data-locations=classpath:test_data.sql",
+                        "mybatis.mapper-locations=classpath:mapper/*.xml"
+                )
+                .run();
+        seed(context.getBean(JdbcTemplate.class), books, borrowRecords);
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int books, int borrowRecords) {
+        Random random = new Random(42);
+        int offset = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM books", Integer.class);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= books; i++) {
+            String title = WORDS.get(random.nextInt(WORDS.size())) + " "
+                    + WORDS.get(random.nextInt(WORDS.size())) + " " + i;
+            batch.add(new Object[]{title, TitleNormalizer.normalize(title)});
+            if (batch.size() == BATCH_SIZE || i == books) {
+                jdbcTemplate.batchUpdate("INSERT INTO books (title, search_key) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        Instant now = Instant.now();
+        for (int i = 1; i <= borrowRecords; i++) {
+            Instant borrowed = now.minus(Duration.ofMinutes(random.nextInt(60 * 24 * 60)));
+            batch.add(new Object[]{
+                    random.nextInt(USERS) + 1,
+                    offset + random.nextInt(Math.max(books, 1)) + 1,
+                    Timestamp.from(borrowed),
+                    Timestamp.from(borrowed.plus(Duration.ofDays(14)))
+            });
+            if (batch.size() == BATCH_SIZE || i == borrowRecords) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO borrow_records (user_id, book_id, borrowed_date, returned_date) VALUES (?, ?, ?, ?)",
+                        batch
+                );
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.infra.mapper.BookMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookMapperBenchmark {
+
+    @Param("10000")
+    int books;
+
+    @Param("50000")
+    int borrowRecords;
+
+    private ConfigurableApplicationContext context;
+    private BookMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(books, borrowRecords);
+        mapper = context.getBean(BookMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> search(Keyword keyword) {
+        return mapper.search(keyword.value);
+    }
+
+    @Benchmark
+    public List<Book> getPopularBooks() {
+        return mapper.getPopularBooks();
+    }
+
+    @Benchmark
+    public List<Book> findAllBooks() {
+        return mapper.findAllBooks();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Keyword {
+
+        @Param({"Java", "missing"})
+        String value;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.domain.service.BookResponseService;
+import com.example.backend.domain.service.BookService;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.cache.ResponseSerializer;
+import com.example.backend.infra.search.BookTitleIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the popular-books and first-page endpoints cost per request above the network: query plus Jackson
+ * on every call, or a lookup of the already encoded bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class BookResponseBenchmark {
+
+    private static final BookQuery FIRST_PAGE = new BookQuery(null, 100, null, false);
+
+    @Param("10000")
+    int books;
+
+    @Param("50000")
+    int borrowRecords;
+
+    @Param("20")
+    int popularLimit;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookResponseService responseService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(books, borrowRecords,
+                BookService.class, BookTitleIndex.class, CacheConfig.class, BookResponseService.class, ResponseSerializer.class);
+        bookService = context.getBean(BookService.class);
+        responseService = context.getBean(BookResponseService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] popularBooksSerialized() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookService.getPopularBooks(PopularityWindow.ALL, popularLimit));
+    }
+
+    @Benchmark
+    public byte[] popularBooksCached() {
+        return responseService.getPopularBooks(PopularityWindow.ALL, popularLimit).json();
+    }
+
+    @Benchmark
+    public byte[] firstPageSerialized() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookService.findBooks(FIRST_PAGE));
+    }
+
+    @Benchmark
+    public byte[] firstPageCached() {
+        return responseService.findBooks(FIRST_PAGE).json();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.service.BorrowRecordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BorrowRecordServiceBenchmark {
+
+    @Param("10000")
+    int books;
+
+    @Param("50000")
+    int borrowRecords;
+
+    private ConfigurableApplicationContext context;
+    private BorrowRecordService service;
+    private int availableBookId;
+    private int borrowedBookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(books, borrowRecords);
+        service = context.getBean(BorrowRecordService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        availableBookId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Integer.class);
+        borrowedBookId = availableBookId - 1;
+        jdbcTemplate.update("UPDATE books SET status = 'BORROWED' WHERE id = ?", borrowedBookId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Winning path: borrow an available book, then return it so the next invocation sees the same state.
+     */
+    @Benchmark
+    public boolean borrowAndReturn() {
+        var borrowRecord = new BorrowRecord(1, availableBookId);
+        service.insertBorrowRecordIfAvailable(borrowRecord);
+        return service.returnBook(borrowRecord.id, availableBookId);
+    }
+
+    /**
+     * Losing path: the conditional UPDATE matches no row and nothing is inserted.
+     */
+    @Benchmark
+    public boolean borrowUnavailable() {
+        return service.insertBorrowRecordIfAvailable(new BorrowRecord(1, borrowedBookId));
+    }
+}
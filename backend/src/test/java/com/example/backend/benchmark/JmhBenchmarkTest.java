@@ -0,0 +1,46 @@
+package com.example.backend.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks in this package and writes the results as JSON for comparison between runs.
+ * Run with {@code mvn test -Pbenchmark -Dtest=JmhBenchmarkTest}, optionally adding
+ * {@code -Djmh.include=Serialization -Djmh.result=target/jmh/run.json -Dbenchmark.books=100000 -Dbenchmark.borrowRecords=500000}.
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(getClass().getPackageName() + "\\..*" + System.getProperty("jmh.include", "") + ".*")
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .measurementIterations(Integer.getInteger("jmh.measurementIterations", 5))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"));
+        param(options, "books");
+        param(options, "borrowRecords");
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        assertFalse(results.isEmpty());
+    }
+
+    private void param(ChainedOptionsBuilder options, String name) {
+        String value = System.getProperty("benchmark." + name);
+        if (value != null) {
+            options.param(name, value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private List<BorrowRecord> borrowRecords;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = new ArrayList<>(size);
+        borrowRecords = new ArrayList<>(size);
+        Date now = new Date();
+        for (int i = 1; i <= size; i++) {
+            String title = BenchmarkDatabase.WORDS.get(i % BenchmarkDatabase.WORDS.size()) + " " + i;
+            books.add(new Book(i, title, i % 3 == 0 ? Status.BORROWED : Status.AVAILABLE));
+            borrowRecords.add(new BorrowRecord(i, i % 100 + 1, i, now, i % 3 == 0 ? null : now));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeBorrowRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(borrowRecords);
+    }
+}
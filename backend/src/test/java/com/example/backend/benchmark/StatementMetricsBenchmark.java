@@ -0,0 +1,56 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.metrics.StatementMetricsInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link StatementMetricsInterceptor} on the cheapest statement we have, a primary key lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementMetricsBenchmark {
+
+    @Param({"false", "true"})
+    boolean instrumented;
+
+    @Param("10000")
+    int books;
+
+    private ConfigurableApplicationContext context;
+    private BookMapper mapper;
+    private int id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = instrumented
+                ? BenchmarkDatabase.start(books, 0, StatementMetricsInterceptor.class)
+                : BenchmarkDatabase.start(books, 0);
+        mapper = context.getBean(BookMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book findById() {
+        id = id % books + 1;
+        return mapper.findById(id);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.controller;
+
+import com.example.backend.domain.entity.CacheStatistics;
+import com.example.backend.domain.entity.ImportResult;
+import com.example.backend.domain.entity.SlowQuery;
+import com.example.backend.domain.service.BookImportService;
+import com.example.backend.domain.service.CacheStatisticsService;
+import com.example.backend.domain.service.SlowQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AdminController.class)
+class AdminControllerTest extends ControllerTestBase {
+
+    @MockitoBean
+    private CacheStatisticsService cacheStatisticsService;
+
+    @MockitoBean
+    private BookImportService bookImportService;
+
+    @MockitoBean
+    private SlowQueryService slowQueryService;
+
+    @Test
+    void getCacheStatistics_success() throws Exception {
+        when(cacheStatisticsService.findAll()).thenReturn(List.of(
+                new CacheStatistics("books", 2, 3, 1, 0.75, 0)
+        ));
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [
+                            {
+                                "name": "books",
+                                "size": 2,
+                                "hit_count": 3,
+                                "miss_count": 1,
+                                "hit_ratio": 0.75,
+                                "eviction_count": 0
+                            }
+                        ]
+                        """
+                ));
+        verify(cacheStatisticsService, times(1)).findAll();
+    }
+
+    @Test
+    void importBooks_success() throws Exception {
+        when(bookImportService.importCsv(any())).thenReturn(new ImportResult(2, 1, 10, 200));
+        mockMvc.perform(post("/admin/books/import")
+                        .content("title\nKotlin Basics\nRust Book\n")
+                        .contentType("text/csv")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {
+                            "imported": 2,
+                            "skipped": 1,
+                            "elapsed_ms": 10,
+                            "rows_per_second": 200
+                        }
+                        """
+                ));
+        verify(bookImportService, times(1)).importCsv(any());
+        verify(bookImportService, times(0)).importNdjson(any());
+    }
+
+    @Test
+    void importBooks_failUnknownFormat() throws Exception {
+        mockMvc.perform(post("/admin/books/import")
+                        .param("format", "xml")
+                        .content("<books/>")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+        verify(bookImportService, times(0)).importCsv(any());
+    }
+
+    @Test
+    void getSlowQueries_success() throws Exception {
+        when(slowQueryService.find("BorrowRecordMapper.findByUserId", 10)).thenReturn(List.of(
+                new SlowQuery(
+                        "BorrowRecordMapper.findByUserId",
+                        "SELECT * FROM borrow_records WHERE user_id = ?",
+                        List.of(2),
+                        250.5,
+                        Instant.parse("2025-01-01T00:00:00Z"),
+                        List.of(Map.of("type", "ALL", "rows", 12000))
+                )
+        ));
+        mockMvc.perform(get("/admin/slow-queries")
+                        .param("statement", "BorrowRecordMapper.findByUserId")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [
+                            {
+                                "statement": "BorrowRecordMapper.findByUserId",
+                                "sql": "SELECT * FROM borrow_records WHERE user_id = ?",
+                                "parameters": [2],
+                                "duration_ms": 250.5,
+                                "executed_at": "2025-01-01T00:00:00Z",
+                                "plan": [{"type": "ALL", "rows": 12000}]
+                            }
+                        ]
+                        """
+                ));
+        verify(slowQueryService, times(1)).find("BorrowRecordMapper.findByUserId", 10);
+    }
+
+    @Test
+    void getSlowQueries_failLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/admin/slow-queries").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+        verify(slowQueryService, times(0)).find(any(), anyInt());
+    }
+
+    @Test
+    void clearSlowQueries_success() throws Exception {
+        mockMvc.perform(delete("/admin/slow-queries").with(csrf()))
+                .andExpect(status().isNoContent());
+        verify(slowQueryService, times(1)).clear();
+    }
+}
@@ -1,15 +1,39 @@
 package com.example.backend.controller;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChanges;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.PopularityWindow;
 import com.example.backend.domain.entity.Status;
+import com.example.backend.domain.service.BookChangeService;
+import com.example.backend.domain.service.BookEventService;
+import com.example.backend.domain.service.BookResponseService;
+import com.example.backend.infra.cache.ResponseSerializer;
+import com.example.backend.infra.ranking.PopularityRanking;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,19 +43,48 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookController.class)
+@Import({
+        BookResponseService.class,
+        ResponseSerializer.class,
+        PopularityRanking.class,
+        BookControllerTest.NoCacheConfig.class
+})
 class BookControllerTest extends ControllerTestBase {
 
+    /**
+     * Every request reaches the mocked services, so stubs from one test never leak into another through cached bytes.
+     */
+    @TestConfiguration
+    static class NoCacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @MockitoBean
+    private BookEventService bookEventService;
+
+    @MockitoBean
+    private BookChangeService bookChangeService;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
     Book mockBook1 = new Book(1, "book1", Status.AVAILABLE);
     Book mockBook2 = new Book(2, "book2", Status.AVAILABLE);
 
     @Test
     void getBook_success() throws Exception {
-        when(bookService.findAllBooks()).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        when(bookService.findBooks(any())).thenReturn(Arrays.asList(mockBook1, mockBook2));
         mockMvc.perform(get("/books"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(content().json("""
                         [
                             {
@@ -47,7 +100,144 @@ class BookControllerTest extends ControllerTestBase {
                         ]
                         """
                 ));
-        verify(bookService, times(1)).findAllBooks();
+        verify(bookService, times(1)).findBooks(new BookQuery(null, 100, null, false));
+    }
+
+    @Test
+    void getBook_successWithCursor() throws Exception {
+        when(bookService.findBooks(any())).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        mockMvc.perform(get("/books")
+                        .param("cursor", "10")
+                        .param("limit", "2")
+                        .param("status", "AVAILABLE")
+                        .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"));
+        verify(bookService, times(1)).findBooks(new BookQuery(10, 2, Status.AVAILABLE, true));
+    }
+
+    @Test
+    void getBook_successWithETag() throws Exception {
+        when(bookService.findBooks(any())).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[\\w-]{22}\"")))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void getBook_successGzip() throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            books.add(new Book(i, "book" + i, Status.AVAILABLE));
+        }
+        when(bookService.findBooks(any())).thenReturn(books);
+
+        String identityETag = mockMvc.perform(get("/books")).andReturn().getResponse().getHeader("ETag");
+        byte[] body = mockMvc.perform(get("/books").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", identityETag.replaceFirst("\"$", "-gzip\"")))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("X-Next-Cursor", "100"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{\"id\":1,\"title\":\"book1\""));
+    }
+
+    @Test
+    void getBook_successIdentityWhenGzipRefused() throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            books.add(new Book(i, "book" + i, Status.AVAILABLE));
+        }
+        when(bookService.findBooks(any())).thenReturn(books);
+
+        mockMvc.perform(get("/books").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void getBook_identityTagDoesNotMatchGzip() throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            books.add(new Book(i, "book" + i, Status.AVAILABLE));
+        }
+        when(bookService.findBooks(any())).thenReturn(books);
+        String identityETag = mockMvc.perform(get("/books")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books").header("Accept-Encoding", "gzip").header("If-None-Match", identityETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+        mockMvc.perform(get("/books").header("If-None-Match", identityETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept-Encoding"));
+    }
+
+    @Test
+    void getBook_notModified() throws Exception {
+        when(bookService.findBooks(any())).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        String etag = mockMvc.perform(get("/books")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books").header("If-None-Match", "\"stale\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBook_successWhenContentChanged() throws Exception {
+        when(bookService.findBooks(any())).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        String etag = mockMvc.perform(get("/books")).andReturn().getResponse().getHeader("ETag");
+
+        when(bookService.findBooks(any())).thenReturn(List.of(mockBook1));
+        mockMvc.perform(get("/books").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\": 1}]"));
+    }
+
+    @Test
+    void getBook_failLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/books").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        verify(bookService, times(0)).findBooks(any());
+    }
+
+    @Test
+    void getBook_failUnknownOrder() throws Exception {
+        mockMvc.perform(get("/books").param("order", "title"))
+                .andExpect(status().isBadRequest());
+        verify(bookService, times(0)).findBooks(any());
+    }
+
+    @Test
+    void getChanges_success() throws Exception {
+        when(bookChangeService.findChanges(3L)).thenReturn(new BookChanges(5, false, List.of(mockBook1), List.of(2)));
+        mockMvc.perform(get("/books/changes").param("since", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {
+                            "version": 5,
+                            "resync_required": false,
+                            "changed": [{"id": 1, "title": "book1", "status": "AVAILABLE"}],
+                            "deleted": [2]
+                        }
+                        """
+                ));
+        verify(bookChangeService, times(1)).findChanges(3L);
+    }
+
+    @Test
+    void getChanges_resync() throws Exception {
+        when(bookChangeService.findChanges(null)).thenReturn(BookChanges.resync(5));
+        mockMvc.perform(get("/books/changes"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"version": 5, "resync_required": true, "changed": [], "deleted": []}
+                        """
+                ));
     }
 
     @Test
@@ -66,6 +256,33 @@ class BookControllerTest extends ControllerTestBase {
         verify(bookService, times(1)).findById(1);
     }
 
+    @Test
+    void getBookById_notModified() throws Exception {
+        when(bookService.findById(1)).thenReturn(mockBook1);
+        String etag = mockMvc.perform(get("/books/{id}", 1)).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books/{id}", 1).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBookById_successStaleETag() throws Exception {
+        when(bookService.findById(1)).thenReturn(mockBook1);
+        mockMvc.perform(get("/books/{id}", 1).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[\\w-]{22}\"")));
+        verify(bookService, times(1)).findById(1);
+    }
+
+    @Test
+    void getBookById_successMissing() throws Exception {
+        mockMvc.perform(get("/books/{id}", 100))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getBookById_fail() throws Exception {
         when(bookService.findById(1)).thenReturn(mockBook1);
@@ -167,7 +384,7 @@ class BookControllerTest extends ControllerTestBase {
 
     @Test
     void getPopularBooks_success() throws Exception {
-        when(bookService.getPopularBooks()).thenReturn(Arrays.asList(mockBook1, mockBook2));
+        when(bookService.getPopularBooks(PopularityWindow.ALL, 5)).thenReturn(Arrays.asList(mockBook1, mockBook2));
         mockMvc.perform(get("/books/popular"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("""
@@ -185,15 +402,60 @@ class BookControllerTest extends ControllerTestBase {
                         ]
                         """
                 ));
-        verify(bookService, times(1)).getPopularBooks();
+        verify(bookService, times(1)).getPopularBooks(PopularityWindow.ALL, 5);
+    }
+
+    @Test
+    void getPopularBooks_successWindow() throws Exception {
+        when(bookService.getPopularBooks(PopularityWindow.WEEK, 10)).thenReturn(Arrays.asList(mockBook2));
+        mockMvc.perform(get("/books/popular").param("window", "7d").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [
+                            {
+                                "id": 2,
+                                "title": "book2",
+                                "status": "AVAILABLE"
+                            }
+                        ]
+                        """
+                ));
+        verify(bookService, times(1)).getPopularBooks(PopularityWindow.WEEK, 10);
     }
 
     @Test
     void getPopularBooks_successEmpty() throws Exception {
-        when(bookService.getPopularBooks()).thenReturn(Collections.emptyList());
+        when(bookService.getPopularBooks(PopularityWindow.ALL, 5)).thenReturn(Collections.emptyList());
         mockMvc.perform(get("/books/popular"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
-        verify(bookService, times(1)).getPopularBooks();
+        verify(bookService, times(1)).getPopularBooks(PopularityWindow.ALL, 5);
+    }
+
+    @Test
+    void getPopularBooks_notModified() throws Exception {
+        when(bookService.getPopularBooks(PopularityWindow.DAY, 5)).thenReturn(List.of(mockBook2));
+        String etag = mockMvc.perform(get("/books/popular").param("window", "24h"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books/popular").param("window", "24h").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPopularBooks_failUnknownWindow() throws Exception {
+        mockMvc.perform(get("/books/popular").param("window", "1y"))
+                .andExpect(status().isBadRequest());
+        verify(bookService, times(0)).getPopularBooks(any(), anyInt());
+    }
+
+    @Test
+    void streamEvents_success() throws Exception {
+        when(bookEventService.subscribe("abc-3")).thenReturn(new SseEmitter());
+        mockMvc.perform(get("/books/events")
+                        .header("Last-Event-ID", "abc-3")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(bookEventService, times(1)).subscribe("abc-3");
     }
-}
\ No newline at end of file
+}
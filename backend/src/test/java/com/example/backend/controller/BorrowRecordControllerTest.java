@@ -1,22 +1,37 @@
 package com.example.backend.controller;
 
+import com.example.backend.domain.entity.BatchItemResult;
 import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.BorrowRecordPage;
+import com.example.backend.domain.entity.BorrowRecordQuery;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BorrowRecordController.class)
@@ -52,11 +67,76 @@ class BorrowRecordControllerTest extends ControllerTestBase {
         verify(borrowRecordService, times(1)).findAllBorrowRecords();
     }
 
+    @Test
+    void exportBorrowRecords_successNdjson() throws Exception {
+        mockExport();
+        var result = mockMvc.perform(get("/borrow_records/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("""
+                        {"user_id":1,"book_id":1,"id":1,"borrowed_date":"1970-01-01T00:00:00.000+00:00","returned_date":null}
+                        {"user_id":2,"book_id":2,"id":2,"borrowed_date":null,"returned_date":null}
+                        """));
+        verify(borrowRecordService, times(1)).exportBorrowRecords(eq(false), any());
+    }
+
+    @Test
+    void exportBorrowRecords_successCsv() throws Exception {
+        mockExport();
+        var result = mockMvc.perform(get("/borrow_records/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("""
+                        id,user_id,book_id,borrowed_date,returned_date
+                        1,1,1,1970-01-01T00:00:00Z,
+                        2,2,2,,
+                        """));
+        verify(borrowRecordService, times(1)).exportBorrowRecords(eq(false), any());
+    }
+
+    @Test
+    void exportBorrowRecords_successArchived() throws Exception {
+        mockExport();
+        var result = mockMvc.perform(get("/borrow_records/export").param("archived", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(borrowRecordService, times(1)).exportBorrowRecords(eq(true), any());
+    }
+
+    @Test
+    void exportBorrowRecords_failUnknownFormat() throws Exception {
+        mockMvc.perform(get("/borrow_records/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(borrowRecordService, times(0)).exportBorrowRecords(anyBoolean(), any());
+    }
+
+    private void mockExport() {
+        var borrowedRecord = new BorrowRecord(1, 1, 1, new Date(0), null);
+        doAnswer(invocation -> {
+            Consumer<BorrowRecord> consumer = invocation.getArgument(1);
+            consumer.accept(borrowedRecord);
+            consumer.accept(mockBorrowRecord2);
+            return null;
+        }).when(borrowRecordService).exportBorrowRecords(anyBoolean(), any());
+    }
+
     @Test
     void getBookRecordsByUserId_success() throws Exception {
-        when(borrowRecordService.findByUserId(1)).thenReturn(Collections.singletonList(mockBorrowRecord1));
+        when(borrowRecordService.findHistory(any())).thenReturn(new BorrowRecordPage(List.of(mockBorrowRecord1), null));
         mockMvc.perform(get("/borrow_records/users").param("id", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookController.NEXT_CURSOR_HEADER))
                 .andExpect(content().json("""
                                 [
                                     {
@@ -68,21 +148,46 @@ class BorrowRecordControllerTest extends ControllerTestBase {
                                     }
                                 ]
                         """));
-        verify(borrowRecordService, times(1)).findByUserId(1);
+        verify(borrowRecordService, times(1)).findHistory(
+                new BorrowRecordQuery(1, null, null, null, null, null, 100, false, false));
+    }
+
+    @Test
+    void getBookRecordsByUserId_pageWithFilters() throws Exception {
+        when(borrowRecordService.findHistory(any())).thenReturn(new BorrowRecordPage(List.of(mockBorrowRecord1), "1000_1"));
+        mockMvc.perform(get("/borrow_records/users")
+                        .param("id", "1")
+                        .param("from", "2024-04-01")
+                        .param("to", "2024-04-30")
+                        .param("cursor", "2000_7")
+                        .param("limit", "1")
+                        .param("open", "true")
+                        .param("archived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookController.NEXT_CURSOR_HEADER, "1000_1"))
+                .andExpect(jsonPath("$[0].id").value(1));
+        verify(borrowRecordService, times(1)).findHistory(new BorrowRecordQuery(
+                1, null, LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2024, 5, 1, 0, 0),
+                new Date(2000), 7, 1, true, true));
     }
 
     @Test
     void getBookRecordsByUserId_fail() throws Exception {
-        when(borrowRecordService.findByUserId(1)).thenReturn(Collections.singletonList(mockBorrowRecord1));
         mockMvc.perform(get("/borrow_records/users").param("id", "0"))
                 .andExpect(status().isBadRequest());
-        verify(borrowRecordService, times(0)).findByUserId(1);
+        mockMvc.perform(get("/borrow_records/users").param("id", "1").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/borrow_records/users").param("id", "1").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/borrow_records/users").param("id", "1").param("from", "yesterday"))
+                .andExpect(status().isBadRequest());
+        verify(borrowRecordService, times(0)).findHistory(any());
     }
 
     @Test
     void getBookRecordsByBookId_success() throws Exception {
-        when(borrowRecordService.findByBookId(1)).thenReturn(Collections.singletonList(mockBorrowRecord1));
-        mockMvc.perform(get("/borrow_records/books").param("id", "1"))
+        when(borrowRecordService.findHistory(any())).thenReturn(new BorrowRecordPage(List.of(mockBorrowRecord1), null));
+        mockMvc.perform(get("/borrow_records/books").param("id", "1").param("archived", "true"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("""
                                 [
@@ -95,7 +200,8 @@ class BorrowRecordControllerTest extends ControllerTestBase {
                                     }
                                 ]
                         """));
-        verify(borrowRecordService, times(1)).findByBookId(1);
+        verify(borrowRecordService, times(1)).findHistory(
+                new BorrowRecordQuery(null, 1, null, null, null, null, 100, false, true));
     }
 
     @Test
@@ -159,4 +265,86 @@ class BorrowRecordControllerTest extends ControllerTestBase {
 
         verify(borrowRecordService, times(0)).returnBook(1, 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void borrowBooks_success() throws Exception {
+        when(borrowRecordService.borrowBooks(1, List.of(1, 2))).thenReturn(List.of(
+                BatchItemResult.succeeded(1, 4),
+                BatchItemResult.failed(2, null, "book isn't available")
+        ));
+
+        mockMvc.perform(
+                post("/borrow_records/batch")
+                        .content("""
+                                {
+                                    "user_id": 1,
+                                    "book_ids": [1, 2]
+                                }
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+        ).andExpect(status().isOk()).andExpect(content().json("""
+                [
+                    {"book_id": 1, "borrow_record_id": 4, "success": true, "error": null},
+                    {"book_id": 2, "borrow_record_id": null, "success": false, "error": "book isn't available"}
+                ]
+                """));
+
+        verify(borrowRecordService, times(1)).borrowBooks(1, List.of(1, 2));
+    }
+
+    @Test
+    void borrowBooks_failEmpty() throws Exception {
+        mockMvc.perform(
+                post("/borrow_records/batch")
+                        .content("""
+                                {
+                                    "user_id": 1,
+                                    "book_ids": []
+                                }
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+        ).andExpect(status().isBadRequest());
+
+        verify(borrowRecordService, times(0)).borrowBooks(anyInt(), any());
+    }
+
+    @Test
+    void returnBooks_success() throws Exception {
+        when(borrowRecordService.returnBooks(any())).thenReturn(List.of(BatchItemResult.succeeded(1, 1)));
+
+        mockMvc.perform(
+                put("/borrow_records/batch/return")
+                        .content("""
+                                [
+                                    {"borrow_record_id": 1, "book_id": 1}
+                                ]
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+        ).andExpect(status().isOk()).andExpect(content().json("""
+                [
+                    {"book_id": 1, "borrow_record_id": 1, "success": true, "error": null}
+                ]
+                """));
+
+        verify(borrowRecordService, times(1)).returnBooks(any());
+    }
+
+    @Test
+    void returnBooks_failInvalidId() throws Exception {
+        mockMvc.perform(
+                put("/borrow_records/batch/return")
+                        .content("""
+                                [
+                                    {"borrow_record_id": 0, "book_id": 1}
+                                ]
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+        ).andExpect(status().isBadRequest());
+
+        verify(borrowRecordService, times(0)).returnBooks(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.controller;
 import com.example.backend.domain.service.BookService;
 import com.example.backend.domain.service.BorrowRecordService;
 import com.example.backend.domain.service.UserService;
+import com.example.backend.infra.mapper.BookChangeMapper;
 import com.example.backend.infra.mapper.BookMapper;
 import com.example.backend.infra.mapper.BorrowRecordMapper;
 import com.example.backend.infra.mapper.UserMapper;
@@ -29,6 +30,9 @@ abstract class ControllerTestBase {
     @MockitoBean
     private BookMapper bookMapper;
 
+    @MockitoBean
+    private BookChangeMapper bookChangeMapper;
+
     @MockitoBean
     private BorrowRecordMapper borrowRecordMapper;
 
@@ -0,0 +1,75 @@
+package com.example.backend.controller;
+
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.domain.service.AvatarService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ImageController.class)
+class ImageControllerTest extends ControllerTestBase {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @MockitoBean
+    private AvatarService avatarService;
+
+    @TempDir
+    private Path imageDir;
+
+    @Test
+    void getImage_success() throws Exception {
+        Path image = Files.write(imageDir.resolve("image.png"), "png bytes".getBytes());
+        when(avatarService.findImage(HASH, false))
+                .thenReturn(Optional.of(new ImageFile(image, "image/png", "\"" + HASH + "\"", false)));
+        mockMvc.perform(get("/images/{hash}", HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().string("png bytes"));
+    }
+
+    @Test
+    void getImage_successNotModified() throws Exception {
+        Path image = Files.write(imageDir.resolve("image.png"), "png bytes".getBytes());
+        when(avatarService.findImage(HASH, false))
+                .thenReturn(Optional.of(new ImageFile(image, "image/png", "\"" + HASH + "\"", false)));
+        mockMvc.perform(get("/images/{hash}", HASH).header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getImage_successThumbnailFallbackIsNotImmutable() throws Exception {
+        Path image = Files.write(imageDir.resolve("image.png"), "png bytes".getBytes());
+        when(avatarService.findImage(HASH, true))
+                .thenReturn(Optional.of(new ImageFile(image, "image/png", "\"" + HASH + "\"", false)));
+        mockMvc.perform(get("/images/{hash}", HASH).param("variant", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    void getImage_fail_notFound() throws Exception {
+        when(avatarService.findImage(HASH, false)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/images/{hash}", HASH))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getImage_fail_invalidHash() throws Exception {
+        mockMvc.perform(get("/images/{hash}", "not-a-hash"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.backend.controller;
 
+import com.example.backend.domain.entity.ActiveLoan;
+import com.example.backend.domain.entity.Avatar;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.MyPage;
 import com.example.backend.domain.entity.Role;
 import com.example.backend.domain.entity.User;
+import com.example.backend.domain.service.AvatarService;
+import com.example.backend.domain.service.MyPageService;
 import com.example.backend.utils.InternalServerException;
+import com.example.backend.utils.ServiceUnavailableException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +41,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,6 +50,20 @@ class UserControllerTest extends ControllerTestBase {
 
     private final User mockUser1 = new User(1, "user1", "user1@email.com", "pw1", Role.USER);
     private final User mockUser2 = new User(2, "user2", "user2@email.com", "pw2", Role.USER);
+    private final Authentication user1 = new UsernamePasswordAuthenticationToken(
+            mockUser1,
+            null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER"))
+    );
+
+    @MockitoBean
+    private AvatarService avatarService;
+
+    @MockitoBean
+    private MyPageService myPageService;
+
+    @TempDir
+    private Path imageDir;
 
     @Test
     void getAllUsers_success() throws Exception {
@@ -82,6 +114,28 @@ class UserControllerTest extends ControllerTestBase {
         verify(userService, times(1)).findById(999);
     }
 
+    @Test
+    void getLoanSummary_success() throws Exception {
+        when(borrowRecordService.findSummaryByUserId(1)).thenReturn(new LoanSummary(2L, 40L, new Date(0)));
+        mockMvc.perform(get("/users/{id}/summary", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {
+                            "active_loans": 2,
+                            "total_borrowed": 40,
+                            "last_borrowed_date": "1970-01-01T00:00:00.000+00:00"
+                        }
+                        """));
+        verify(borrowRecordService, times(1)).findSummaryByUserId(1);
+    }
+
+    @Test
+    void getLoanSummary_fail() throws Exception {
+        mockMvc.perform(get("/users/{id}/summary", 0))
+                .andExpect(status().isBadRequest());
+        verify(borrowRecordService, times(0)).findSummaryByUserId(anyInt());
+    }
+
     @Test
     void deleteUserById_success() throws Exception {
         when(userService.deleteById(1)).thenReturn(1);
@@ -117,24 +171,81 @@ class UserControllerTest extends ControllerTestBase {
         mockMvc.perform(get("/users/me")).andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void getMyPage_success() throws Exception {
+        when(myPageService.find(1)).thenReturn(new MyPage(
+                mockUser1,
+                new LoanSummary(1L, 2L, new Date(0)),
+                List.of(new ActiveLoan(2, 3, "Java Spring Boot Guide", new Date(0))),
+                List.of(new BorrowRecord(2, 1, 3, new Date(0), null))
+        ));
+        mockMvc.perform(get("/users/me/page").with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.id", is(1)))
+                .andExpect(jsonPath("$.user.password").doesNotExist())
+                .andExpect(jsonPath("$.summary.total_borrowed", is(2)))
+                .andExpect(jsonPath("$.active_loans[0].title", is("Java Spring Boot Guide")))
+                .andExpect(jsonPath("$.recent_history[0].book_id", is(3)));
+        verify(myPageService, times(1)).find(1);
+    }
+
+    @Test
+    void getMyPage_fail() throws Exception {
+        mockMvc.perform(get("/users/me/page")).andExpect(status().isUnauthorized());
+
+        when(myPageService.find(1)).thenReturn(new MyPage(null, null, List.of(), List.of()));
+        mockMvc.perform(get("/users/me/page").with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isNotFound());
+
+        when(myPageService.find(1)).thenThrow(new ServiceUnavailableException("too many my page requests in progress"));
+        mockMvc.perform(get("/users/me/page").with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void uploadImage_success() throws Exception {
+        String hash = "a".repeat(64);
+        when(avatarService.upload(eq(1), any(), eq("image/png"))).thenReturn(new Avatar(hash, "image/png"));
+        MockMultipartFile file = new MockMultipartFile("file", "image.png", "image/png", "test data".getBytes());
+        mockMvc.perform(multipart("/users/image").file(file).with(csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hash", is(hash)));
+        verify(avatarService, times(1)).upload(eq(1), any(), eq("image/png"));
+    }
+
+    @Test
+    void uploadImage_fail_unauthenticated() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "image.png", "image/png", "test data".getBytes());
         mockMvc.perform(multipart("/users/image").file(file).with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void uploadImage_fail_tooManyUploads() throws Exception {
+        when(avatarService.upload(eq(1), any(), eq("image/png")))
+                .thenThrow(new ServiceUnavailableException("too many uploads in progress"));
+        MockMultipartFile file = new MockMultipartFile("file", "image.png", "image/png", "test data".getBytes());
+        mockMvc.perform(multipart("/users/image").file(file).with(csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
     }
 
     @Test
     void uploadImage_fail_emptyFile() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "", "image/png", new byte[0]);
-        mockMvc.perform(multipart("/users/image").file(file).with(csrf()))
+        mockMvc.perform(multipart("/users/image").file(file).with(csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
     void uploadImage_fail_invalidFormat() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "file.txt", "text/plain", "invalid".getBytes());
-        mockMvc.perform(multipart("/users/image").file(file).with(csrf()))
+        mockMvc.perform(multipart("/users/image").file(file).with(csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
                 .andExpect(status().isBadRequest());
     }
 
@@ -142,7 +253,34 @@ class UserControllerTest extends ControllerTestBase {
     void uploadImage_fail_largeFile() throws Exception {
         byte[] largeData = new byte[6 * 1024 * 1024]; // 6MB
         MockMultipartFile file = new MockMultipartFile("file", "large.png", "image/png", largeData);
-        mockMvc.perform(multipart("/users/image").file(file).with(csrf()))
+        mockMvc.perform(multipart("/users/image").file(file).with(csrf())
+                        .with(SecurityMockMvcRequestPostProcessors.authentication(user1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getImage_success() throws Exception {
+        Path image = Files.write(imageDir.resolve("avatar.png"), "png bytes".getBytes());
+        when(avatarService.findAvatarImage(1, true))
+                .thenReturn(Optional.of(new ImageFile(image, "image/png", "\"abc-thumbnail\"", true)));
+        mockMvc.perform(get("/users/{id}/image", 1).param("variant", "thumbnail").header("Range", "bytes=4-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("ETag", "\"abc-thumbnail\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(header().string("Content-Range", "bytes 4-8/9"))
+                .andExpect(content().string("bytes"));
+    }
+
+    @Test
+    void getImage_fail_noAvatar() throws Exception {
+        when(avatarService.findAvatarImage(1, false)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/users/{id}/image", 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getImage_fail_invalidVariant() throws Exception {
+        mockMvc.perform(get("/users/{id}/image", 1).param("variant", "large"))
                 .andExpect(status().isBadRequest());
     }
 }
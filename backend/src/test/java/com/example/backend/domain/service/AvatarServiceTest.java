@@ -0,0 +1,105 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Avatar;
+import com.example.backend.domain.entity.ImageFile;
+import com.example.backend.infra.mapper.UserMapper;
+import com.example.backend.infra.storage.ImageStore;
+import com.example.backend.utils.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvatarServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Test
+    void upload_storesImageAndQueuesThumbnail() throws Exception {
+        var service = new AvatarService(userMapper, imageStore, 1, Duration.ZERO);
+        InputStream in = new ByteArrayInputStream(new byte[]{1});
+        when(imageStore.store(in, "image/png")).thenReturn(HASH);
+        when(imageStore.generateThumbnail(HASH, "image/png")).thenReturn(CompletableFuture.completedFuture(null));
+
+        Avatar avatar = service.upload(1, in, "image/png");
+
+        assertEquals(new Avatar(HASH, "image/png"), avatar);
+        verify(userMapper).upsertAvatar(1, avatar);
+        verify(imageStore).generateThumbnail(HASH, "image/png");
+    }
+
+    @Test
+    void upload_rejectsWhenConcurrentUploadsAreExhausted() throws Exception {
+        var service = new AvatarService(userMapper, imageStore, 1, Duration.ZERO);
+        var storing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(imageStore.store(any(), any())).thenAnswer(invocation -> {
+            storing.countDown();
+            release.await();
+            return HASH;
+        });
+        when(imageStore.generateThumbnail(HASH, "image/png")).thenReturn(CompletableFuture.completedFuture(null));
+
+        var first = CompletableFuture.runAsync(() -> {
+            try {
+                service.upload(1, InputStream.nullInputStream(), "image/png");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> service.upload(2, InputStream.nullInputStream(), "image/png"));
+        verify(userMapper, never()).upsertAvatar(2, new Avatar(HASH, "image/png"));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        service.upload(2, InputStream.nullInputStream(), "image/png");
+        verify(userMapper).upsertAvatar(2, new Avatar(HASH, "image/png"));
+    }
+
+    @Test
+    void findImage_fallsBackToOriginalUntilThumbnailExists(@TempDir Path directory) throws Exception {
+        var service = new AvatarService(userMapper, imageStore, 1, Duration.ZERO);
+        Path original = directory.resolve("original.png");
+        Path thumbnail = directory.resolve("thumbnail.png");
+        when(imageStore.contentTypeOf(HASH)).thenReturn(Optional.of("image/png"));
+        when(imageStore.original(HASH, "image/png")).thenReturn(original);
+        when(imageStore.thumbnail(HASH, "image/png")).thenReturn(thumbnail);
+
+        assertEquals(Optional.of(new ImageFile(original, "image/png", "\"" + HASH + "\"", false)),
+                service.findImage(HASH, true));
+        verify(imageStore).generateThumbnail(HASH, "image/png");
+
+        Files.createFile(thumbnail);
+        assertEquals(Optional.of(new ImageFile(thumbnail, "image/png", "\"" + HASH + "-thumbnail\"", true)),
+                service.findImage(HASH, true));
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BookChanges;
+import com.example.backend.domain.entity.Status;
+import com.example.backend.infra.mapper.BookMapper;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MybatisTest
+@TestPropertySource(
+        locations = "classpath:application-test.properties",
+        properties = {"app.book-changes.max-changes=3", "app.book-changes.retention=0s"}
+)
+@Import(BookChangeService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookChangeServiceTest {
+
+    @Autowired
+    private BookChangeService service;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findChanges_returnsBooksChangedSinceVersion() {
+        long since = service.findChanges(null).version();
+        int added = inTransaction(() -> {
+            bookMapper.insertBook(new Book(null, "Delta Sync", Status.AVAILABLE));
+            int id = bookMapper.findLastInsertId();
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.ADDED, id));
+            return id;
+        });
+        inTransaction(() -> {
+            bookMapper.borrowBook(added);
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.BORROWED, added));
+            return null;
+        });
+
+        BookChanges changes = service.findChanges(since);
+
+        assertFalse(changes.resyncRequired());
+        assertEquals(since + 2, changes.version());
+        assertEquals(List.of(new Book(added, "Delta Sync", Status.BORROWED)), changes.changed());
+        assertTrue(changes.deleted().isEmpty());
+        assertTrue(service.findChanges(changes.version()).changed().isEmpty());
+    }
+
+    @Test
+    void findChanges_waitsForLowerVersionsStillInFlight() throws Exception {
+        long since = service.findChanges(null).version();
+        var written = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            // Takes the lower version, then stays uncommitted while another writer commits a higher one
+            Future<?> slowWriter = executor.submit(() -> inTransaction(() -> {
+                service.onBookChanged(BookChangedEvent.of(BookChangeType.RETURNED, 2));
+                written.countDown();
+                await(commit);
+                return null;
+            }));
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+            assertEquals(new BookChanges(since, false, List.of(), List.of()), service.findChanges(since));
+
+            commit.countDown();
+            slowWriter.get(5, TimeUnit.SECONDS);
+
+            BookChanges changes = service.findChanges(since);
+            assertEquals(since + 2, changes.version());
+            assertEquals(List.of(1, 2), changes.changed().stream().map(Book::id).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findChanges_listsDeletedBooks() {
+        int id = inTransaction(() -> {
+            bookMapper.insertBook(new Book(null, "Short Lived", Status.AVAILABLE));
+            return bookMapper.findLastInsertId();
+        });
+        long since = service.findChanges(null).version();
+        inTransaction(() -> {
+            bookMapper.deleteById(id);
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.DELETED, id));
+            return null;
+        });
+
+        BookChanges changes = service.findChanges(since);
+
+        assertTrue(changes.changed().isEmpty());
+        assertEquals(List.of(id), changes.deleted());
+    }
+
+    @Test
+    void onBookChanged_skipsRolledBackChanges() {
+        long since = service.findChanges(null).version();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.BORROWED, 1));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(since, service.findChanges(null).version());
+    }
+
+    @Test
+    void onBookChanged_journalsEventsOutsideTransactions() {
+        long since = service.findChanges(null).version();
+
+        eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+
+        BookChanges changes = service.findChanges(since);
+        assertEquals(since + 1, changes.version());
+        assertEquals(1, changes.changed().get(0).id());
+    }
+
+    @Test
+    void findChanges_requiresResyncForUnknownOrTooManyChanges() {
+        long since = service.findChanges(null).version();
+        assertTrue(service.findChanges(null).resyncRequired());
+        assertTrue(service.findChanges(since + 1).resyncRequired());
+
+        eventPublisher.publishEvent(new BookChangedEvent(BookChangeType.RETURNED, List.of(1, 2, 3, 4)));
+
+        BookChanges changes = service.findChanges(since);
+        assertTrue(changes.resyncRequired());
+        assertEquals(since + 4, changes.version());
+    }
+
+    @Test
+    void compact_requiresResyncBehindHorizon() {
+        long before = service.findChanges(null).version();
+        eventPublisher.publishEvent(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+        long after = service.findChanges(null).version();
+
+        service.compact();
+
+        assertTrue(service.findChanges(before).resyncRequired());
+        assertFalse(service.findChanges(after).resyncRequired());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
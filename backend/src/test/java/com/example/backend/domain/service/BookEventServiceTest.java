@@ -0,0 +1,178 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class BookEventServiceTest {
+
+    private static final Pattern ID = Pattern.compile("id:(\\S+)");
+
+    private final BookEventService service = new BookEventService(new ObjectMapper(), new SimpleMeterRegistry(), 2, Duration.ofHours(1), 16, 2);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(service)).build();
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void subscribe_receivesCommittedEvents() throws Exception {
+        var response = subscribe(null);
+        await(() -> service.subscribers() == 1);
+
+        service.onBookChanged(new BookChangedEvent(BookChangeType.BORROWED, List.of(1, 2)));
+
+        // Each frame is written in several parts, so wait for the last one
+        String body = await(response, content -> content.contains("data:{\"type\":\"BORROWED\",\"book_ids\":[1,2]}"));
+        assertTrue(body.matches("(?s)id:\\S+-1\nevent:book\n.*"));
+    }
+
+    @Test
+    void subscribe_resumesAfterLastEventId() throws Exception {
+        var first = subscribe(null);
+        await(() -> service.subscribers() == 1);
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.ADDED, 1));
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.BORROWED, 1));
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+        List<String> ids = ids(await(first, content -> ids(content).size() == 3));
+
+        String resumed = await(subscribe(ids.get(0)), content -> ids(content).size() == 2);
+
+        assertEquals(ids.subList(1, 3), ids(resumed));
+        assertFalse(resumed.contains("ADDED"));
+    }
+
+    @Test
+    void subscribe_resetsWhenLastEventIdIsNoLongerBuffered() throws Exception {
+        var first = subscribe(null);
+        await(() -> service.subscribers() == 1);
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.ADDED, 1));
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.BORROWED, 1));
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+        String oldest = ids(await(first, content -> ids(content).size() == 3)).get(0);
+
+        String tooOld = oldest.substring(0, oldest.lastIndexOf('-')) + "-0";
+        assertTrue(await(subscribe(tooOld), content -> content.contains("event:reset")).contains("event:reset"));
+    }
+
+    @Test
+    void subscribe_resetsForUnknownProcess() throws Exception {
+        String body = await(subscribe("someone-else-3"), content -> content.contains("event:reset"));
+
+        assertFalse(body.contains("event:book"));
+    }
+
+    @Test
+    void onBookChanged_dropsSubscriberThatFallsBehind() throws Exception {
+        var slowService = new BookEventService(new ObjectMapper(), new SimpleMeterRegistry(), 2, Duration.ofHours(1), 2, 2);
+        // Only the slow subscriber is sent a reset; once it is, no event written to it completes until the test is over
+        Set<HttpOutputMessage> slow = ConcurrentHashMap.newKeySet();
+        CountDownLatch release = new CountDownLatch(1);
+        var slowMvc = MockMvcBuilders.standaloneSetup(new EventsController(slowService))
+                .setMessageConverters(new StringHttpMessageConverter() {
+                    @Override
+                    protected void writeInternal(String body, HttpOutputMessage outputMessage) throws IOException {
+                        if (body.equals("{}")) {
+                            slow.add(outputMessage);
+                        } else if (slow.contains(outputMessage) && body.startsWith("{")) {
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        super.writeInternal(body, outputMessage);
+                    }
+                })
+                .build();
+        try {
+            slowMvc.perform(get("/events").header("Last-Event-ID", "someone-else-3")).andExpect(request().asyncStarted());
+            var fast = slowMvc.perform(get("/events")).andExpect(request().asyncStarted()).andReturn().getResponse();
+            await(() -> slowService.subscribers() == 2);
+
+            // The fast subscriber keeps up with every event while the slow one overflows its buffer of two
+            for (int i = 1; i <= 4; i++) {
+                slowService.onBookChanged(BookChangedEvent.of(BookChangeType.BORROWED, i));
+                int sent = i;
+                await(fast, content -> ids(content).size() == sent);
+            }
+
+            await(() -> slowService.subscribers() == 1);
+        } finally {
+            release.countDown();
+            slowService.destroy();
+        }
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var request = get("/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private static List<String> ids(String content) {
+        Matcher matcher = ID.matcher(content);
+        return matcher.results().map(result -> result.group(1)).toList();
+    }
+
+    private static String await(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        await(() -> condition.test(response.getContentAsString()));
+        return response.getContentAsString();
+    }
+
+    private static void await(Condition condition) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.met()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within 5s");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean met() throws Exception;
+    }
+
+    @RestController
+    private record EventsController(BookEventService service) {
+
+        @GetMapping("/events")
+        SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return service.subscribe(lastEventId);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.Status;
+import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.BookTitleIndex;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@MybatisTest
+@TestPropertySource(
+        locations = "classpath:application-test.properties",
+        properties = "app.import.chunk-size=2"
+)
+@Import({
+        BookImportService.class,
+        BookService.class,
+        BookTitleIndex.class,
+        PopularityRanking.class,
+        JacksonAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService service;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private BookTitleIndex titleIndex;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void importCsv() throws Exception {
+        int before = bookMapper.findAllBooks().size();
+        var csv = """
+                title
+                Kotlin Basics
+                "Rust, the ""Book\"""
+
+                Go Programming,extra column
+                %s
+                """.formatted("x".repeat(51));
+
+        var result = service.importCsv(input(csv));
+
+        assertEquals(3, result.imported());
+        assertEquals(1, result.skipped());
+        assertEquals(before + 3, bookMapper.findAllBooks().size());
+        assertEquals("Rust, the \"Book\"", bookMapper.findById(titleIndex.search("rust", 1).get(0)).title());
+        assertEquals(1, titleIndex.search("go programming", 10).size());
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        int before = bookMapper.findAllBooks().size();
+        var ndjson = """
+                {"title": "Scala in Depth"}
+                {"name": "no title"}
+                {"title": "Haskell Primer"}
+                """;
+
+        var result = service.importNdjson(input(ndjson));
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.skipped());
+        assertEquals(before + 2, bookMapper.findAllBooks().size());
+        assertEquals(1, titleIndex.search("haskell", 10).size());
+    }
+
+    @Test
+    void importCsv_publishesOnlyTheIdsItInserted() throws Exception {
+        int[] concurrentId = new int[1];
+        // The second part is opened after the first chunk commits, which is when a concurrent POST /books lands
+        var parts = List.<Supplier<InputStream>>of(
+                () -> input("title\nElixir Intro\nErlang Intro\n"),
+                () -> {
+                    bookMapper.insertBook(new Book(null, "Concurrent Book", Status.AVAILABLE));
+                    concurrentId[0] = bookMapper.findLastInsertId();
+                    return input("Clojure Intro\n");
+                }
+        ).iterator();
+        var csv = new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return parts.next().get();
+            }
+        });
+
+        service.importCsv(csv);
+
+        List<Integer> published = events.stream(BookChangedEvent.class)
+                .filter(event -> event.type() == BookChangeType.ADDED)
+                .flatMap(event -> event.bookIds().stream())
+                .toList();
+        assertEquals(3, published.size());
+        assertFalse(published.contains(concurrentId[0]));
+        assertEquals(List.of("Elixir Intro", "Erlang Intro", "Clojure Intro"),
+                bookMapper.findByIds(published).stream().map(Book::title).toList());
+    }
+
+    private ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.domain.entity.Status;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.cache.ResponseSerializer;
+import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.BookTitleIndex;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MybatisTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({
+        CacheConfig.class, BookResponseService.class, ResponseSerializer.class, BookService.class,
+        BookChangeService.class, BookTitleIndex.class, PopularityRanking.class, JacksonAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookResponseServiceTest {
+
+    @Autowired
+    private BookResponseService responseService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PopularityRanking popularityRanking;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findBooks_servesCachedBytesUntilCatalogChanges() {
+        var query = new BookQuery(null, 100, null, false);
+
+        var first = responseService.findBooks(query);
+        assertSame(first, responseService.findBooks(query));
+        assertNull(first.nextCursor());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"title\""));
+
+        bookService.insertBook(new Book(null, "Cached Response", Status.AVAILABLE));
+
+        var second = responseService.findBooks(query);
+        assertNotSame(first, second);
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(new String(second.json(), StandardCharsets.UTF_8).contains("Cached Response"));
+    }
+
+    @Test
+    void findBooks_hitSkipsTheDatabase() {
+        var query = new BookQuery(null, 100, null, true);
+        var first = responseService.findBooks(query);
+
+        jdbcTemplate.update("UPDATE books SET title = 'Unannounced' WHERE id = 1");
+        try {
+            assertSame(first, responseService.findBooks(query));
+        } finally {
+            jdbcTemplate.update("UPDATE books SET title = 'Ruby on Rails Test Book' WHERE id = 1");
+        }
+    }
+
+    @Test
+    void findBooks_keysByQuery() {
+        var page = responseService.findBooks(new BookQuery(null, 1, null, false));
+
+        assertEquals(1, page.nextCursor());
+        assertNotSame(page, responseService.findBooks(new BookQuery(null, 2, null, false)));
+    }
+
+    @Test
+    void getPopularBooks_cachedPerWindow() {
+        var all = responseService.getPopularBooks(PopularityWindow.ALL, 5);
+
+        assertSame(all, responseService.getPopularBooks(PopularityWindow.ALL, 5));
+        assertNotSame(all, responseService.getPopularBooks(PopularityWindow.ALL, 3));
+    }
+
+    @Test
+    void getPopularBooks_refreshedWhenRankingChanges() {
+        var before = responseService.getPopularBooks(PopularityWindow.DAY, 5);
+
+        popularityRanking.record(1, Instant.now());
+
+        var after = responseService.getPopularBooks(PopularityWindow.DAY, 5);
+        assertNotSame(before, after);
+        assertTrue(new String(after.json(), StandardCharsets.UTF_8).contains("\"id\":1"));
+    }
+
+    @Test
+    void findBookById_servesCachedBytesUntilBookChanges() {
+        var available = responseService.findBookById(2);
+        assertSame(available, responseService.findBookById(2));
+
+        bookMapper.borrowBook(2);
+        try {
+            var borrowed = responseService.findBookById(2);
+            assertNotEquals(available.etag(), borrowed.etag());
+            assertTrue(new String(borrowed.json(), StandardCharsets.UTF_8).contains("BORROWED"));
+        } finally {
+            bookMapper.returnBook(2);
+        }
+    }
+
+    @Test
+    void findBookById_tagFollowsContent() {
+        var book = responseService.findBookById(1);
+
+        assertEquals(book.etag(), responseService.findBookById(1).etag());
+        assertNotEquals(book.etag(), responseService.findBookById(2).etag());
+        assertNull(responseService.findBookById(100));
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.backend.domain.service;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BookQuery;
+import com.example.backend.domain.entity.BookSearchKey;
+import com.example.backend.domain.entity.PopularityWindow;
 import com.example.backend.domain.entity.Status;
 import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.BookTitleIndex;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,9 +42,22 @@ class BookServiceTest {
     @Mock
     private BookMapper mapper;
 
+    @Spy
+    private BookTitleIndex titleIndex = new BookTitleIndex();
+
+    @Mock
+    private PopularityRanking popularityRanking;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     Book mockBook1 = new Book(1, "book1", Status.AVAILABLE);
     Book mockBook2 = new Book(2, "book2", Status.AVAILABLE);
     List<Book> mockBooks = Arrays.asList(mockBook1, mockBook2);
+    List<BookSearchKey> mockKeys = List.of(new BookSearchKey(1, "book1", "book1"), new BookSearchKey(2, "book2", "book2"));
 
     @Test
     void findAllBooks_success() {
@@ -42,11 +70,24 @@ class BookServiceTest {
         verify(mapper, times(1)).findAllBooks();
     }
 
+    @Test
+    void findBooks_success() {
+        var query = new BookQuery(null, 2, Status.AVAILABLE, false);
+        when(mapper.findBooks(query)).thenReturn(mockBooks);
+        List<Book> books = service.findBooks(query);
+
+        assertEquals(mockBooks.size(), books.size());
+        verify(mapper, times(1)).findBooks(query);
+    }
+
     @Test
     void insertBook_success() {
         doNothing().when(mapper).insertBook(mockBook1);
+        when(mapper.findLastInsertId()).thenReturn(1);
         service.insertBook(mockBook1);
         verify(mapper, times(1)).insertBook(mockBook1);
+        verify(titleIndex, times(0)).add(1, mockBook1.title());
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(BookChangeType.ADDED, 1));
     }
 
     @Test
@@ -65,24 +106,145 @@ class BookServiceTest {
         int affectedRows = service.deleteById(1);
         assertEquals(1, affectedRows);
         verify(mapper, times(1)).deleteById(1);
+        verify(titleIndex, times(0)).remove(1);
+        verify(popularityRanking, times(0)).remove(1);
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(BookChangeType.DELETED, 1));
+    }
+
+    @Test
+    void deleteById_notFound() {
+        when(mapper.deleteById(1)).thenReturn(0);
+        int affectedRows = service.deleteById(1);
+        assertEquals(0, affectedRows);
+        verify(titleIndex, times(0)).remove(1);
+        verify(eventPublisher, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void onBookChanged_indexesAddedTitles() {
+        when(mapper.findSearchKeysByIds(List.of(1, 2))).thenReturn(mockKeys);
+        service.onBookChanged(new BookChangedEvent(BookChangeType.ADDED, List.of(1, 2)));
+
+        assertEquals(List.of(2), titleIndex.search("book2", 10));
+        assertEquals(2, titleIndex.size());
+    }
+
+    @Test
+    void onBookChanged_removesDeletedTitles() {
+        titleIndex.add(1, "book1");
+        service.onBookChanged(BookChangedEvent.of(BookChangeType.DELETED, 1));
+
+        assertEquals(0, titleIndex.size());
+        verify(mapper, times(0)).findByIds(any());
     }
 
     @Test
     void search_success() {
-        var keyword = "ok1";
-        when(mapper.search(keyword)).thenReturn(Arrays.asList(mockBook1));
-        var books = service.search(keyword);
+        titleIndex.add(1, "book1");
+        titleIndex.add(2, "notebook12");
+        when(mapper.findByIds(List.of(1, 2))).thenReturn(Arrays.asList(mockBook2, mockBook1));
+        var books = service.search("ok1");
 
+        assertEquals(2, books.size());
         assertEquals(mockBook1.title(), books.get(0).title());
-        verify(mapper, times(1)).search(keyword);
+        assertEquals(mockBook2.title(), books.get(1).title());
+        verify(mapper, times(1)).findByIds(List.of(1, 2));
+    }
+
+    @Test
+    void search_successNoResult() {
+        titleIndex.add(1, "book1");
+        var books = service.search("nonexistent");
+
+        assertEquals(0, books.size());
+        verify(mapper, times(0)).findByIds(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buildSearchIndex_success() throws Exception {
+        Cursor<BookSearchKey> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(mockKeys.iterator());
+        doCallRealMethod().when(cursor).forEach(any());
+        when(mapper.streamSearchKeys()).thenReturn(cursor);
+
+        service.buildSearchIndex();
+
+        assertEquals(2, titleIndex.size());
+        assertEquals(List.of(2), titleIndex.search("book2", 10));
+        verify(cursor, times(1)).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buildSearchIndex_normalizesKeysNotBackfilledYet() throws Exception {
+        Cursor<BookSearchKey> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(new BookSearchKey(1, "ＢＯＯＫ１", "")).iterator());
+        doCallRealMethod().when(cursor).forEach(any());
+        when(mapper.streamSearchKeys()).thenReturn(cursor);
+
+        service.buildSearchIndex();
+
+        assertEquals(List.of(1), titleIndex.search("book1", 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buildSearchIndex_appliesChangesCommittedDuringRebuild() throws Exception {
+        titleIndex.add(9, "stale");
+        Cursor<BookSearchKey> cursor = mock(Cursor.class);
+        // Book 2 is deleted and book 3 added after the snapshot was taken, while the cursor is still being read
+        when(cursor.iterator()).thenAnswer(invocation -> {
+            service.onBookChanged(BookChangedEvent.of(BookChangeType.DELETED, 2));
+            service.onBookChanged(BookChangedEvent.of(BookChangeType.ADDED, 3));
+            assertEquals(List.of(9), titleIndex.search("stale", 10));
+            return mockKeys.iterator();
+        });
+        doCallRealMethod().when(cursor).forEach(any());
+        when(mapper.streamSearchKeys()).thenReturn(cursor);
+        when(mapper.findSearchKeysByIds(List.of(3))).thenReturn(List.of(new BookSearchKey(3, "book3", "book3")));
+
+        service.buildSearchIndex();
+
+        assertEquals(List.of(1, 3), titleIndex.search("book", 10));
+        assertEquals(List.of(), titleIndex.search("stale", 10));
+    }
+
+    @Test
+    void backfillSearchKeys_visitsEveryRowOnce() {
+        // A whitespace-only title normalizes to an empty key, so its row still looks unfilled afterwards
+        List<Book> chunk = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            chunk.add(new Book(id, " ", Status.AVAILABLE));
+        }
+        when(mapper.findBooksWithoutSearchKey(0, 1000)).thenReturn(chunk);
+        when(mapper.findBooksWithoutSearchKey(1000, 1000)).thenReturn(List.of(mockBook1));
+        when(mapper.updateSearchKey(any())).thenReturn(1);
+
+        service.backfillSearchKeys();
+
+        verify(mapper, times(1001)).updateSearchKey(any());
+        verify(mapper, times(2)).findBooksWithoutSearchKey(any(Integer.class), any(Integer.class));
     }
 
     @Test
     void getPopularBooks_success() {
-        when(mapper.getPopularBooks()).thenReturn(mockBooks);
-        var popularBooks = service.getPopularBooks();
+        when(popularityRanking.top(PopularityWindow.WEEK, 5)).thenReturn(List.of(2, 1));
+        when(mapper.findByIds(List.of(2, 1))).thenReturn(mockBooks);
+        var popularBooks = service.getPopularBooks(PopularityWindow.WEEK, 5);
 
         assertEquals(mockBooks.size(), popularBooks.size());
-        verify(mapper, times(1)).getPopularBooks();
+        assertEquals(mockBook2.id(), popularBooks.get(0).id());
+        assertEquals(mockBook1.id(), popularBooks.get(1).id());
+        verify(popularityRanking, times(1)).top(PopularityWindow.WEEK, 5);
+    }
+
+    @Test
+    void getPopularBooks_successEmpty() {
+        when(popularityRanking.top(PopularityWindow.ALL, 5)).thenReturn(List.of());
+        var popularBooks = service.getPopularBooks(PopularityWindow.ALL, 5);
+
+        assertEquals(0, popularBooks.size());
+        verify(mapper, times(0)).findByIds(any());
     }
 }
\ No newline at end of file
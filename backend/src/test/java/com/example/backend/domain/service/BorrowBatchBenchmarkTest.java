@@ -0,0 +1,164 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BatchItemResult;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.ReturnRequest;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.ranking.PopularityRanking;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares checking out and returning a stack of books one request at a time against the batch path.
+ * In-memory H2 has no network hop, so {@code -Dbenchmark.roundTripMicros} adds a simulated delay per statement.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.books=10 -Dbenchmark.rounds=500 -Dbenchmark.roundTripMicros=200}.
+ */
+@Tag("benchmark")
+@MybatisTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({BorrowRecordService.class, PopularityRanking.class, CacheConfig.class, BorrowBatchBenchmarkTest.StatementCounterConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BorrowBatchBenchmarkTest {
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 10);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 500);
+    private static final int ROUND_TRIP_MICROS = Integer.getInteger("benchmark.roundTripMicros", 0);
+    private static final int WARMUP_ROUNDS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(BorrowBatchBenchmarkTest.class);
+
+    @Autowired
+    private BorrowRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private List<Integer> bookIds;
+
+    @BeforeEach
+    void insertBooks() {
+        bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            jdbcTemplate.update("INSERT INTO books (title, search_key) VALUES ('batch', 'batch')");
+            bookIds.add(jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Integer.class));
+        }
+    }
+
+    @Test
+    void singleVersusBatch() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checkoutOneByOne();
+            checkoutInBatch();
+        }
+
+        Measurement batch = measure(this::checkoutInBatch);
+        Measurement single = measure(this::checkoutOneByOne);
+
+        logger.info(String.format(
+                "books=%d rounds=%d roundTrip=%dus single: %.3fms %d statements, batch: %.3fms %d statements (%.1fx faster)",
+                BOOKS, ROUNDS, ROUND_TRIP_MICROS, single.millisPerRound(), single.statementsPerRound,
+                batch.millisPerRound(), batch.statementsPerRound, single.millisPerRound() / batch.millisPerRound()
+        ));
+
+        assertTrue(batch.statementsPerRound < single.statementsPerRound);
+    }
+
+    private void checkoutOneByOne() {
+        List<BorrowRecord> borrowRecords = new ArrayList<>();
+        for (int bookId : bookIds) {
+            var borrowRecord = new BorrowRecord(1, bookId);
+            assertTrue(service.insertBorrowRecordIfAvailable(borrowRecord));
+            borrowRecords.add(borrowRecord);
+        }
+        for (BorrowRecord borrowRecord : borrowRecords) {
+            assertTrue(service.returnBook(borrowRecord.id, borrowRecord.bookId));
+        }
+    }
+
+    private void checkoutInBatch() {
+        List<BatchItemResult> borrowed = service.borrowBooks(1, bookIds);
+        List<ReturnRequest> returns = borrowed.stream()
+                .peek(result -> assertTrue(result.success()))
+                .map(result -> new ReturnRequest(result.borrowRecordId(), result.bookId()))
+                .toList();
+        assertTrue(service.returnBooks(returns).stream().allMatch(BatchItemResult::success));
+    }
+
+    private Measurement measure(Runnable round) {
+        long statementsBefore = statementCounter.count.get();
+        long began = System.nanoTime();
+        IntStream.range(0, ROUNDS).forEach(i -> round.run());
+        long elapsed = System.nanoTime() - began;
+        return new Measurement(elapsed, (statementCounter.count.get() - statementsBefore) / ROUNDS);
+    }
+
+    private record Measurement(long elapsedNanos, long statementsPerRound) {
+
+        double millisPerRound() {
+            return elapsedNanos / 1e6 / ROUNDS;
+        }
+    }
+
+    @Intercepts({
+            @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+            @Signature(type = Executor.class, method = "query",
+                    args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+            @Signature(type = Executor.class, method = "query",
+                    args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+    })
+    static class StatementCounter implements Interceptor {
+
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            count.incrementAndGet();
+            if (ROUND_TRIP_MICROS > 0) {
+                LockSupport.parkNanos(ROUND_TRIP_MICROS * 1000L);
+            }
+            return invocation.proceed();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+}
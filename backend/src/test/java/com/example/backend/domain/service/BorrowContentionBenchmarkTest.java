@@ -0,0 +1,155 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.infra.cache.CacheConfig;
+import com.example.backend.infra.ranking.PopularityRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single book from several threads and checks that it is never lent twice. The change journal is
+ * written as in production, so assigning its versions is part of what gets measured.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.threads=16 -Dbenchmark.seconds=10}.
+ */
+@Tag("benchmark")
+@MybatisTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({BorrowRecordService.class, BookChangeService.class, PopularityRanking.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BorrowContentionBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 5);
+    private static final String OPEN_LOANS = "SELECT COUNT(*) FROM borrow_records WHERE book_id = ? AND returned_date IS NULL";
+
+    private final Logger logger = LoggerFactory.getLogger(BorrowContentionBenchmarkTest.class);
+
+    @Autowired
+    private BorrowRecordService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int bookId;
+
+    @BeforeEach
+    void insertContendedBook() {
+        var keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO books (title, search_key) VALUES ('contended', 'contended')",
+                    Statement.RETURN_GENERATED_KEYS
+            );
+            return statement;
+        }, keyHolder);
+        bookId = keyHolder.getKey().intValue();
+    }
+
+    @Test
+    void borrowSameBookConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger maxOpenLoans = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<?> checker = executor.submit(() -> {
+            while (running.get()) {
+                int openLoans = jdbcTemplate.queryForObject(OPEN_LOANS, Integer.class, bookId);
+                maxOpenLoans.accumulateAndGet(openLoans, Math::max);
+            }
+        });
+
+        List<Future<Result>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int userId = i % 3 + 1;
+            workers.add(executor.submit(() -> borrowUntilStopped(userId, running, start)));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        TimeUnit.SECONDS.sleep(SECONDS);
+        running.set(false);
+
+        long attempts = 0;
+        long wins = 0;
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<Result> worker : workers) {
+            Result result = worker.get();
+            attempts += result.latencies.length;
+            wins += result.wins;
+            latencies.add(result.latencies);
+        }
+        checker.get();
+        double elapsedSeconds = (System.nanoTime() - began) / 1e9;
+        executor.shutdown();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        logger.info(String.format(
+                "threads=%d attempts=%d wins=%d throughput=%.0f ops/s p50=%.2fms p99=%.2fms maxOpenLoans=%d",
+                THREADS, attempts, wins, attempts / elapsedSeconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, maxOpenLoans.get()
+        ));
+
+        assertTrue(wins > 0);
+        assertTrue(maxOpenLoans.get() <= 1);
+        assertEquals(0, jdbcTemplate.queryForObject(OPEN_LOANS, Integer.class, bookId));
+    }
+
+    private Result borrowUntilStopped(int userId, AtomicBoolean running, CountDownLatch start) throws InterruptedException {
+        start.await();
+        long[] latencies = new long[1024];
+        int count = 0;
+        int wins = 0;
+        while (running.get()) {
+            var borrowRecord = new BorrowRecord(userId, bookId);
+            long began = System.nanoTime();
+            boolean won = service.insertBorrowRecordIfAvailable(borrowRecord);
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - began;
+            if (won) {
+                wins++;
+                service.returnBook(borrowRecord.id, bookId);
+            }
+        }
+        return new Result(Arrays.copyOf(latencies, count), wins);
+    }
+
+    private double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private record Result(long[] latencies, int wins) {
+    }
+}
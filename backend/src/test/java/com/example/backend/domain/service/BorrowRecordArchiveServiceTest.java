@@ -0,0 +1,52 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.infra.mapper.BorrowRecordMapper;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// DATETIME rounds NOW() to the second, so a negative retention is what makes "just returned" archivable
+@MybatisTest
+@TestPropertySource(
+        locations = "classpath:application-test.properties",
+        properties = {"app.borrow-records.archive-after=-1d", "app.borrow-records.archive-chunk-size=1"}
+)
+@Import(BorrowRecordArchiveService.class)
+class BorrowRecordArchiveServiceTest {
+
+    @Autowired
+    private BorrowRecordArchiveService service;
+
+    @Autowired
+    private BorrowRecordMapper borrowRecordMapper;
+
+    @Test
+    void archive_movesReturnedRecordsInChunks() {
+        borrowRecordMapper.updateBorrowRecords(List.of(1, 2));
+        borrowRecordMapper.deleteOpenLoans(List.of(1, 2));
+
+        assertEquals(2, service.archive());
+
+        assertEquals(List.of(3), borrowRecordMapper.findAllBorrowRecords().stream().map(r -> r.id).toList());
+        assertEquals(1, borrowRecordMapper.findHistory(
+                new BorrowRecordQuery(1, null, null, null, null, null, 10, false, true)).size());
+        assertEquals(1, borrowRecordMapper.findHistory(
+                new BorrowRecordQuery(null, 2, null, null, null, null, 10, false, true)).size());
+        assertEquals(0, service.archive());
+    }
+
+    @Test
+    void archive_keepsOpenLoans() {
+        assertEquals(0, service.archive());
+
+        assertEquals(3, borrowRecordMapper.findAllBorrowRecords().size());
+        assertEquals(1, borrowRecordMapper.findOpenByUserId(1).size());
+    }
+}
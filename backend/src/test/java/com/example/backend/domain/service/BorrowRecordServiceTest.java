@@ -1,22 +1,47 @@
 package com.example.backend.domain.service;
 
+import com.example.backend.domain.entity.ActiveLoan;
+import com.example.backend.domain.entity.BatchItemResult;
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BooksBorrowedEvent;
 import com.example.backend.domain.entity.BorrowRecord;
-import com.example.backend.domain.entity.Status;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.PopularityWindow;
+import com.example.backend.domain.entity.ReturnRequest;
+import com.example.backend.infra.cache.CacheConfig;
 import com.example.backend.infra.mapper.BookMapper;
 import com.example.backend.infra.mapper.BorrowRecordMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +56,14 @@ class BorrowRecordServiceTest {
     private BorrowRecordMapper borrowRecordMapper;
     @Mock
     private BookMapper bookMapper;
+    @Mock
+    private PopularityRanking popularityRanking;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache bookCache;
 
     BorrowRecord mockBorrowRecord1 = new BorrowRecord(1, 1);
     BorrowRecord mockBorrowRecord2 = new BorrowRecord(2, 2);
@@ -47,6 +80,38 @@ class BorrowRecordServiceTest {
         verify(borrowRecordMapper, times(1)).findAllBorrowRecords();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportBorrowRecords() throws Exception {
+        Cursor<BorrowRecord> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(mockBorrowRecords.iterator());
+        doCallRealMethod().when(cursor).forEach(any());
+        when(borrowRecordMapper.streamAllBorrowRecords()).thenReturn(cursor);
+
+        var exported = new ArrayList<BorrowRecord>();
+        service.exportBorrowRecords(false, exported::add);
+
+        assertEquals(mockBorrowRecords, exported);
+        verify(cursor, times(1)).close();
+        verify(borrowRecordMapper, times(0)).streamArchivedBorrowRecords();
+    }
+
+    @Test
+    void exportBorrowRecords_includeArchived() throws Exception {
+        var archived = new BorrowRecord(3, 1, 1, new Date(0), new Date(0));
+        Cursor<BorrowRecord> live = cursorOf(mockBorrowRecord1);
+        Cursor<BorrowRecord> archive = cursorOf(archived);
+        when(borrowRecordMapper.streamAllBorrowRecords()).thenReturn(live);
+        when(borrowRecordMapper.streamArchivedBorrowRecords()).thenReturn(archive);
+
+        var exported = new ArrayList<BorrowRecord>();
+        service.exportBorrowRecords(true, exported::add);
+
+        assertEquals(List.of(mockBorrowRecord1, archived), exported);
+        verify(live, times(1)).close();
+        verify(archive, times(1)).close();
+    }
+
     @Test
     void findByUserId() {
         when(borrowRecordMapper.findByUserId(1)).thenReturn(Collections.singletonList(mockBorrowRecord1));
@@ -57,6 +122,15 @@ class BorrowRecordServiceTest {
         verify(borrowRecordMapper, times(1)).findByUserId(1);
     }
 
+    @Test
+    void findOpenByUserId() {
+        when(borrowRecordMapper.findOpenByUserId(1)).thenReturn(List.of(mockBorrowRecord1));
+
+        assertEquals(List.of(mockBorrowRecord1), service.findOpenByUserId(1));
+        verify(borrowRecordMapper, times(1)).findOpenByUserId(1);
+        verify(borrowRecordMapper, times(0)).findByUserId(anyInt());
+    }
+
     @Test
     void findByBookId() {
         when(borrowRecordMapper.findByBookId(1)).thenReturn(Collections.singletonList(mockBorrowRecord1));
@@ -67,17 +141,89 @@ class BorrowRecordServiceTest {
         verify(borrowRecordMapper, times(1)).findByBookId(1);
     }
 
+    @Test
+    void findActiveLoansByUserId() {
+        var activeLoans = List.of(new ActiveLoan(1, 1, "Title", new Date(1000)));
+        when(borrowRecordMapper.findActiveLoansByUserId(1)).thenReturn(activeLoans);
+
+        assertEquals(activeLoans, service.findActiveLoansByUserId(1));
+    }
+
+    @Test
+    void findSummaryByUserId() {
+        var summary = new LoanSummary(1L, 5L, new Date(1000));
+        when(borrowRecordMapper.findSummaryByUserId(1)).thenReturn(summary);
+
+        assertEquals(summary, service.findSummaryByUserId(1));
+    }
+
+    @Test
+    void findHistory_fullPageHasCursor() {
+        var query = new BorrowRecordQuery(1, null, null, null, null, null, 2, false, false);
+        var older = new BorrowRecord(7, 1, 2, new Date(1000), null);
+        when(borrowRecordMapper.findHistory(query)).thenReturn(List.of(new BorrowRecord(8, 1, 1, new Date(2000), null), older));
+
+        var page = service.findHistory(query);
+
+        assertEquals(2, page.records().size());
+        assertEquals("1000_7", page.nextCursor());
+    }
+
+    @Test
+    void findHistory_lastPageHasNoCursor() {
+        var query = new BorrowRecordQuery(null, 1, null, null, null, null, 2, false, false);
+        when(borrowRecordMapper.findHistory(query)).thenReturn(List.of(mockBorrowRecord1));
+
+        assertNull(service.findHistory(query).nextCursor());
+    }
+
     @Test
     void insertBorrowRecordIfAvailable() {
-        when(bookMapper.findStatusById(1)).thenReturn(Status.AVAILABLE);
-        doNothing().when(bookMapper).borrowBook(mockBorrowRecord1.bookId);
+        when(bookMapper.borrowBook(mockBorrowRecord1.bookId)).thenReturn(1);
         doNothing().when(borrowRecordMapper).insertBorrowRecord(mockBorrowRecord1);
 
         assertTrue(service.insertBorrowRecordIfAvailable(mockBorrowRecord1));
 
-        verify(bookMapper).findStatusById(1);
         verify(bookMapper).borrowBook(mockBorrowRecord1.bookId);
         verify(borrowRecordMapper, times(1)).insertBorrowRecord(mockBorrowRecord1);
+        verify(borrowRecordMapper, times(1)).insertOpenLoan(mockBorrowRecord1);
+        verify(popularityRanking, times(0)).record(anyInt(), any());
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(BookChangeType.BORROWED, mockBorrowRecord1.bookId));
+        verify(eventPublisher, times(1)).publishEvent(new BooksBorrowedEvent(List.of(mockBorrowRecord1)));
+    }
+
+    @Test
+    void insertBorrowRecordIfAvailable_notAvailable() {
+        when(bookMapper.borrowBook(1)).thenReturn(0);
+
+        assertFalse(service.insertBorrowRecordIfAvailable(mockBorrowRecord1));
+
+        verify(borrowRecordMapper, times(0)).insertBorrowRecord(any());
+        verify(borrowRecordMapper, times(0)).insertOpenLoan(any());
+        verify(popularityRanking, times(0)).record(anyInt(), any());
+        verify(eventPublisher, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void buildPopularityRanking() throws Exception {
+        Cursor<BorrowRecord> live = cursorOf(new BorrowRecord(1, 1, 7, new Date(0), null));
+        Cursor<BorrowRecord> archive = cursorOf(new BorrowRecord(2, 1, 5, new Date(0), new Date(0)));
+        when(borrowRecordMapper.streamAllBorrowRecords()).thenReturn(live);
+        when(borrowRecordMapper.streamArchivedBorrowRecords()).thenReturn(archive);
+        var ranking = new PopularityRanking();
+        ranking.record(3, Instant.EPOCH);
+
+        new BorrowRecordService(borrowRecordMapper, bookMapper, ranking, eventPublisher, cacheManager).buildPopularityRanking();
+
+        assertEquals(List.of(5, 7), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<BorrowRecord> cursorOf(BorrowRecord... borrowRecords) {
+        Cursor<BorrowRecord> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(borrowRecords).iterator());
+        doCallRealMethod().when(cursor).forEach(any());
+        return cursor;
     }
 
     @Test
@@ -89,5 +235,74 @@ class BorrowRecordServiceTest {
 
         verify(bookMapper, times(1)).returnBook(1);
         verify(borrowRecordMapper, times(1)).updateBorrowRecord(1, 1);
+        verify(borrowRecordMapper, times(1)).deleteOpenLoan(1);
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(BookChangeType.RETURNED, 1));
+    }
+
+    @Test
+    void borrowBooks() {
+        when(bookMapper.lockAvailableIds(List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+        when(cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(bookCache);
+        doAnswer(invocation -> {
+            List<BorrowRecord> borrowRecords = invocation.getArgument(0);
+            borrowRecords.get(0).id = 10;
+            borrowRecords.get(1).id = 11;
+            return 2;
+        }).when(borrowRecordMapper).insertBorrowRecords(any());
+
+        var results = service.borrowBooks(1, List.of(1, 2, 3, 1));
+
+        assertEquals(List.of(
+                BatchItemResult.succeeded(1, 10),
+                BatchItemResult.failed(2, null, "book isn't available"),
+                BatchItemResult.succeeded(3, 11),
+                BatchItemResult.failed(1, null, "duplicate book id")
+        ), results);
+        verify(bookMapper, times(1)).borrowBooks(List.of(1, 3));
+        verify(bookCache, times(1)).evict(1);
+        verify(bookCache, times(1)).evict(3);
+        verify(bookCache, times(0)).clear();
+        verify(borrowRecordMapper, times(1)).insertOpenLoans(argThat(records ->
+                records.stream().map(record -> record.id).toList().equals(List.of(10, 11))));
+        verify(popularityRanking, times(0)).record(anyInt(), any());
+        verify(eventPublisher, times(1)).publishEvent(new BookChangedEvent(BookChangeType.BORROWED, List.of(1, 3)));
+        verify(eventPublisher, times(1)).publishEvent((Object) argThat((Object event) -> event instanceof BooksBorrowedEvent borrowed
+                && borrowed.borrowRecords().stream().map(record -> record.id).toList().equals(List.of(10, 11))));
+    }
+
+    @Test
+    void borrowBooks_noneAvailable() {
+        when(bookMapper.lockAvailableIds(List.of(1))).thenReturn(List.of());
+
+        var results = service.borrowBooks(1, List.of(1));
+
+        assertFalse(results.get(0).success());
+        verify(bookMapper, times(0)).borrowBooks(any());
+        verify(borrowRecordMapper, times(0)).insertBorrowRecords(any());
+        verify(eventPublisher, times(0)).publishEvent(any());
+    }
+
+    @Test
+    void returnBooks() {
+        when(borrowRecordMapper.lockOpenByIds(List.of(1, 2, 3)))
+                .thenReturn(List.of(new BorrowRecord(1, 1, 1, new Date(), null), new BorrowRecord(2, 2, 2, new Date(), null)));
+        when(cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(bookCache);
+
+        var results = service.returnBooks(List.of(
+                new ReturnRequest(1, 1),
+                new ReturnRequest(2, 5),
+                new ReturnRequest(3, 3)
+        ));
+
+        assertEquals(List.of(
+                BatchItemResult.succeeded(1, 1),
+                BatchItemResult.failed(5, 2, "book record not found"),
+                BatchItemResult.failed(3, 3, "book record not found")
+        ), results);
+        verify(borrowRecordMapper, times(1)).updateBorrowRecords(List.of(1));
+        verify(borrowRecordMapper, times(1)).deleteOpenLoans(List.of(1));
+        verify(bookMapper, times(1)).returnBooks(List.of(1));
+        verify(bookCache, times(1)).evict(1);
+        verify(eventPublisher, times(1)).publishEvent(new BookChangedEvent(BookChangeType.RETURNED, List.of(1)));
     }
-}
\ No newline at end of file
+}
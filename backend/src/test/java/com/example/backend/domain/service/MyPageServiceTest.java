@@ -0,0 +1,181 @@
+package com.example.backend.domain.service;
+
+import com.example.backend.domain.entity.ActiveLoan;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.BorrowRecordPage;
+import com.example.backend.domain.entity.LoanSummary;
+import com.example.backend.domain.entity.MyPage;
+import com.example.backend.domain.entity.Role;
+import com.example.backend.domain.entity.User;
+import com.example.backend.utils.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MyPageServiceTest {
+
+    private final User user = new User(1, "user1", "user1@email.com", "pw1", Role.USER);
+    private final LoanSummary summary = new LoanSummary(1L, 3L, new Date(3000));
+    private final List<ActiveLoan> activeLoans = List.of(new ActiveLoan(3, 1, "Title", new Date(3000)));
+    private final List<BorrowRecord> history = List.of(
+            new BorrowRecord(3, 1, 1, new Date(3000), null),
+            new BorrowRecord(2, 1, 2, new Date(2000), new Date(2500))
+    );
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BorrowRecordService borrowRecordService;
+
+    private MyPageService service;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void find_mergesEveryBranch() {
+        service = service(Duration.ofSeconds(2), 4, 10);
+        stubBranches(invocation -> null);
+
+        MyPage page = service.find(1);
+
+        assertSame(user, page.user());
+        assertEquals(summary, page.summary());
+        assertEquals(activeLoans, page.activeLoans());
+        assertEquals(history, page.recentHistory());
+    }
+
+    @Test
+    void find_runsBranchesConcurrently() {
+        service = service(Duration.ofSeconds(2), 4, 10);
+        // Every branch waits for all four to have started, which only happens if they run side by side
+        CountDownLatch started = new CountDownLatch(4);
+        stubBranches(invocation -> {
+            started.countDown();
+            if (!started.await(1, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("branches ran one after another");
+            }
+            return null;
+        });
+
+        assertSame(user, service.find(1).user());
+    }
+
+    @Test
+    void find_timesOutOnSlowBranch() throws Exception {
+        service = service(Duration.ofMillis(100), 4, 10);
+        stubBranches(invocation -> null);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(borrowRecordService.findSummaryByUserId(1)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return summary;
+        });
+
+        assertThrows(ServiceUnavailableException.class, () -> service.find(1));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "slow branch was left running");
+    }
+
+    @Test
+    void find_rejectsWhenPoolIsSaturated() throws Exception {
+        service = service(Duration.ofSeconds(2), 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        lenient().when(userService.findById(1)).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return user;
+        });
+
+        assertThrows(ServiceUnavailableException.class, () -> service.find(1));
+        // The third branch is rejected; the first is cancelled either before it starts or by an interrupt
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS) || started.getCount() == 1, "submitted branch was left running");
+    }
+
+    @Test
+    void find_runsBranchesWithCallersSecurityContext() {
+        service = service(Duration.ofSeconds(2), 4, 10);
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        stubBranches(invocation -> {
+            names.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            return null;
+        });
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user1", null));
+
+        try {
+            service.find(1);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertEquals(Set.of("user1"), names);
+    }
+
+    @Test
+    void find_propagatesBranchFailure() {
+        service = service(Duration.ofSeconds(2), 4, 10);
+        stubBranches(invocation -> null);
+        var failure = new IllegalStateException("database is down");
+        when(borrowRecordService.findActiveLoansByUserId(1)).thenThrow(failure);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> service.find(1)));
+    }
+
+    private MyPageService service(Duration timeout, int threads, int queue) {
+        return new MyPageService(userService, borrowRecordService, 10, timeout, threads, queue);
+    }
+
+    /**
+     * Runs {@code before} in each branch, then answers with the fixture.
+     */
+    private void stubBranches(Answer<Void> before) {
+        lenient().when(userService.findById(1)).thenAnswer(invocation -> {
+            before.answer(invocation);
+            return user;
+        });
+        lenient().when(borrowRecordService.findSummaryByUserId(1)).thenAnswer(invocation -> {
+            before.answer(invocation);
+            return summary;
+        });
+        lenient().when(borrowRecordService.findActiveLoansByUserId(1)).thenAnswer(invocation -> {
+            before.answer(invocation);
+            return activeLoans;
+        });
+        lenient().when(borrowRecordService.findHistory(any())).thenAnswer(invocation -> {
+            before.answer(invocation);
+            return new BorrowRecordPage(history, null);
+        });
+    }
+}
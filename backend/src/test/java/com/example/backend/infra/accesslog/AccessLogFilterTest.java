@@ -0,0 +1,67 @@
+package com.example.backend.infra.accesslog;
+
+import com.example.backend.infra.storage.FileSender;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AccessLogFilterTest {
+
+    private final AccessLog accessLog = mock(AccessLog.class);
+    private final AccessLogFilter filter = new AccessLogFilter(accessLog);
+
+    @Test
+    void doFilter_recordsOutputStream() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/books/1");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/books/{id}");
+            res.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+        });
+
+        verify(accessLog, times(1)).record(eq("GET"), eq("/books/{id}"), eq("/books/1"), eq(200), eq(5L), anyLong());
+        assertEquals("hello", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_recordsWriterAndStatus() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/books");
+        var response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+
+        filter.doFilter(request, response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(400);
+            res.getWriter().write("本");
+        });
+
+        verify(accessLog, times(1)).record(eq("POST"), isNull(), eq("/books"), eq(400), eq(3L), anyLong());
+        assertEquals("本", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_recordsSendfileRange() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/images/1");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(FileSender.SENDFILE_FILENAME, "/images/1.jpg");
+            req.setAttribute(FileSender.SENDFILE_START, 100L);
+            req.setAttribute(FileSender.SENDFILE_END, 1124L);
+        });
+
+        verify(accessLog, times(1)).record(eq("GET"), isNull(), eq("/images/1"), eq(200), eq(1024L), anyLong());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.infra.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(8, new AccessLogRingBuffer(5).capacity());
+        assertEquals(8, new AccessLogRingBuffer(8).capacity());
+    }
+
+    @Test
+    void offer_dropsWhenFull() {
+        var buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(offer(buffer, i));
+        }
+
+        assertFalse(offer(buffer, 4));
+    }
+
+    @Test
+    void drain_returnsEntriesInOrderAndFreesSlots() {
+        var buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            offer(buffer, i);
+        }
+
+        List<Integer> statuses = new ArrayList<>();
+        assertEquals(3, buffer.drain(entry -> statuses.add(entry.status), 3));
+        assertTrue(offer(buffer, 4));
+        assertEquals(2, buffer.drain(entry -> statuses.add(entry.status), 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), statuses);
+        assertEquals(0, buffer.drain(entry -> statuses.add(entry.status), 10));
+    }
+
+    @Test
+    void offer_concurrentProducersLoseNothingWhileThereIsRoom() throws Exception {
+        var buffer = new AccessLogRingBuffer(1 << 16);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            var producer = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    offer(buffer, 200);
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(40_000, buffer.drain(entry -> {
+        }, Integer.MAX_VALUE));
+    }
+
+    private boolean offer(AccessLogRingBuffer buffer, int status) {
+        return buffer.offer("GET", "/books", "/books", status, 0, 0, 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend.infra.accesslog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void drain_recordsLatencyPerEndpoint() {
+        var accessLog = new AccessLog(registry, 16);
+        accessLog.record("GET", "/books/{id}", "/books/1", 200, 42, TimeUnit.MILLISECONDS.toNanos(3));
+        accessLog.record("GET", "/books/{id}", "/books/2", 200, 42, TimeUnit.MILLISECONDS.toNanos(5));
+        accessLog.record("GET", null, "/nowhere", 404, 0, TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertEquals(3, accessLog.drain());
+
+        var timer = registry.get(AccessLog.LATENCY).tags("method", "GET", "uri", "/books/{id}", "status", "200").timer();
+        assertEquals(2, timer.count());
+        assertEquals(8, timer.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get(AccessLog.LATENCY).tags("uri", AccessLog.UNMATCHED, "status", "404").timer().count());
+    }
+
+    @Test
+    void record_dropsAndCountsWhenFull() {
+        var accessLog = new AccessLog(registry, 2);
+        assertTrue(accessLog.record("GET", "/books", "/books", 200, 0, 0));
+        assertTrue(accessLog.record("GET", "/books", "/books", 200, 0, 0));
+
+        assertFalse(accessLog.record("GET", "/books", "/books", 200, 0, 0));
+
+        assertEquals(1, registry.get(AccessLog.DROPPED).counter().count());
+    }
+
+    @Test
+    void record_wakesIdleWriter() throws InterruptedException {
+        var accessLog = new AccessLog(registry, 16);
+        accessLog.start();
+        try {
+            Thread.sleep(50);
+            accessLog.record("GET", "/books", "/books", 200, 0, 1_000);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                var timer = registry.find(AccessLog.LATENCY).timer();
+                if (timer != null && timer.count() > 0) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            assertEquals(1, registry.get(AccessLog.LATENCY).tags("method", "GET").timer().count());
+        } finally {
+            accessLog.stop();
+        }
+    }
+
+    @Test
+    void stop_flushesPendingRecords() {
+        var accessLog = new AccessLog(registry, 16);
+        accessLog.start();
+        accessLog.record("POST", "/books", "/books", 204, 0, 1_000);
+        accessLog.stop();
+
+        assertEquals(1, registry.get(AccessLog.LATENCY).tags("method", "POST").timer().count());
+        assertEquals(0, accessLog.drain());
+    }
+}
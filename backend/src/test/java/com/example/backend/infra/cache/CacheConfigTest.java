@@ -0,0 +1,77 @@
+package com.example.backend.infra.cache;
+
+import com.example.backend.domain.entity.CacheStatistics;
+import com.example.backend.domain.entity.Status;
+import com.example.backend.domain.service.BookService;
+import com.example.backend.domain.service.CacheStatisticsService;
+import com.example.backend.infra.mapper.BookMapper;
+import com.example.backend.infra.ranking.PopularityRanking;
+import com.example.backend.infra.search.BookTitleIndex;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@MybatisTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({CacheConfig.class, BookService.class, BookTitleIndex.class, PopularityRanking.class, CacheStatisticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheConfigTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Test
+    void findById_readThrough() {
+        CacheStatistics before = bookStatistics();
+
+        var first = bookService.findById(1);
+        var second = bookService.findById(1);
+
+        CacheStatistics after = bookStatistics();
+        assertSame(first, second);
+        assertEquals(1, after.hitCount() - before.hitCount());
+        assertEquals(1, after.missCount() - before.missCount());
+    }
+
+    @Test
+    void findById_missingBookIsNotCached() {
+        CacheStatistics before = bookStatistics();
+
+        assertNull(bookService.findById(100));
+        assertNull(bookService.findById(100));
+
+        assertEquals(2, bookStatistics().missCount() - before.missCount());
+    }
+
+    @Test
+    void borrowAndReturnBook_evictBook() {
+        assertEquals(Status.AVAILABLE, bookService.findById(2).status());
+
+        bookMapper.borrowBook(2);
+        assertEquals(Status.BORROWED, bookService.findById(2).status());
+
+        bookMapper.returnBook(2);
+        assertEquals(Status.AVAILABLE, bookService.findById(2).status());
+    }
+
+    private CacheStatistics bookStatistics() {
+        return cacheStatisticsService.findAll().stream()
+                .filter(statistics -> statistics.name().equals(CacheConfig.BOOKS))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.backend.infra.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void route_readOnlyTransactionUsesReplica() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(replica), true, Duration.ZERO));
+
+        assertEquals("replica", client.read());
+        assertEquals("primary", client.write());
+        assertEquals("primary", client.withoutTransaction());
+    }
+
+    @Test
+    void route_roundRobinsReplicas() {
+        var client = client(new ReadWriteRoutingDataSource(
+                primary, List.of(replica, database("replica2")), true, Duration.ZERO));
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(client.read());
+        }
+        assertEquals(List.of("replica", "replica2", "replica", "replica2"), reads);
+    }
+
+    @Test
+    void route_readYourWritesWindowKeepsWriterOnPrimary() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(replica), true, Duration.ofMinutes(1)));
+        login("alice");
+        client.write();
+
+        assertEquals("primary", client.read());
+
+        login("bob");
+        assertEquals("replica", client.read());
+    }
+
+    @Test
+    void route_onlyCommittedWritesOpenTheWindow() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(replica), true, Duration.ofMinutes(1)));
+        login("alice");
+        client.withoutTransaction();
+        assertEquals("replica", client.read());
+
+        client.writeAndRollBack();
+        assertEquals("replica", client.read());
+    }
+
+    @Test
+    void route_anonymousWritesOpenNoWindow() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(replica), true, Duration.ofMinutes(1)));
+        client.write();
+
+        assertEquals("replica", client.read());
+    }
+
+    @Test
+    void route_fallsBackToPrimaryWhenReplicaIsDown() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(unreachable()), true, Duration.ZERO));
+
+        assertEquals("primary", client.read());
+    }
+
+    @Test
+    void route_failsWhenReplicaIsDownWithoutFallback() {
+        var client = client(new ReadWriteRoutingDataSource(primary, List.of(unreachable()), false, Duration.ZERO));
+
+        assertThrows(DataAccessResourceFailureException.class, client::read);
+    }
+
+    private static Client client(ReadWriteRoutingDataSource routingDataSource) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        return new Client(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private static void login(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource unreachable() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private record Client(JdbcTemplate jdbcTemplate, DataSourceTransactionManager transactionManager) {
+
+        String read() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template.execute(status -> withoutTransaction());
+        }
+
+        String write() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            return template.execute(status -> {
+                jdbcTemplate.update("UPDATE node SET name = name");
+                return withoutTransaction();
+            });
+        }
+
+        void writeAndRollBack() {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE node SET name = name");
+                status.setRollbackOnly();
+            });
+        }
+
+        String withoutTransaction() {
+            return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+        }
+    }
+}
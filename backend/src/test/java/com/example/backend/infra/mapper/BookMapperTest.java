@@ -1,12 +1,16 @@
 package com.example.backend.infra.mapper;
 
 import com.example.backend.domain.entity.Book;
+import com.example.backend.domain.entity.BookSearchKey;
+import com.example.backend.domain.entity.BookQuery;
 import com.example.backend.domain.entity.Status;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -19,6 +23,9 @@ class BookMapperTest {
     @Autowired
     private BookMapper mapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void findAllBooks_success() {
         List<Book> books = mapper.findAllBooks();
@@ -30,6 +37,39 @@ class BookMapperTest {
         assertEquals(Status.AVAILABLE, firstBook.status());
     }
 
+    @Test
+    void findBooks_success() {
+        List<Book> firstPage = mapper.findBooks(new BookQuery(null, 2, null, false));
+        assertEquals(2, firstPage.size());
+        assertEquals(1, firstPage.get(0).id());
+        assertEquals(2, firstPage.get(1).id());
+
+        List<Book> secondPage = mapper.findBooks(new BookQuery(firstPage.get(1).id(), 2, null, false));
+        assertEquals(1, secondPage.size());
+        assertEquals(3, secondPage.get(0).id());
+    }
+
+    @Test
+    void findBooks_successDescending() {
+        List<Book> books = mapper.findBooks(new BookQuery(3, 10, null, true));
+
+        assertEquals(2, books.size());
+        assertEquals(2, books.get(0).id());
+        assertEquals(1, books.get(1).id());
+    }
+
+    @Test
+    void findBooks_successFilterByStatus() {
+        mapper.borrowBook(2);
+
+        List<Book> borrowed = mapper.findBooks(new BookQuery(null, 10, Status.BORROWED, false));
+        assertEquals(1, borrowed.size());
+        assertEquals(2, borrowed.get(0).id());
+
+        List<Book> available = mapper.findBooks(new BookQuery(null, 10, Status.AVAILABLE, false));
+        assertEquals(2, available.size());
+    }
+
     @Test
     void insertBook_success() {
         var title = "Test Book";
@@ -42,6 +82,7 @@ class BookMapperTest {
         assertEquals(4, books.size());
         assertEquals(4, insertedBook.id());
         assertEquals(title, insertedBook.title());
+        assertEquals(4, mapper.findLastInsertId());
     }
 
     @Test
@@ -52,6 +93,33 @@ class BookMapperTest {
         assertEquals("Golang Web Server Tutorial", book.title());
     }
 
+    @Test
+    void findByIds_success() {
+        List<Book> books = mapper.findByIds(List.of(3, 1));
+
+        assertEquals(2, books.size());
+        assertTrue(books.stream().anyMatch(book -> book.id() == 1));
+        assertTrue(books.stream().anyMatch(book -> book.id() == 3));
+    }
+
+    @Test
+    void streamSearchKeys_success() throws Exception {
+        var keys = new ArrayList<BookSearchKey>();
+        try (var cursor = mapper.streamSearchKeys()) {
+            cursor.forEach(keys::add);
+        }
+
+        assertEquals(List.of(1, 2, 3), keys.stream().map(BookSearchKey::id).toList());
+        assertEquals(new BookSearchKey(3, "Java Spring Boot Guide", "java spring boot guide"), keys.get(2));
+    }
+
+    @Test
+    void findSearchKeysByIds_success() {
+        var keys = mapper.findSearchKeysByIds(List.of(1));
+
+        assertEquals(List.of(new BookSearchKey(1, "Ruby on Rails Test Book", "ruby on rails test book")), keys);
+    }
+
     @Test
     void findStatusById_success() {
         Status status = mapper.findStatusById(3);
@@ -74,12 +142,18 @@ class BookMapperTest {
         var beforeBook = mapper.findById(1);
         assertEquals(Status.AVAILABLE, beforeBook.status());
 
-        mapper.borrowBook(1);
+        assertEquals(1, mapper.borrowBook(1));
 
         var afterBook = mapper.findById(1);
         assertEquals(Status.BORROWED, afterBook.status());
     }
 
+    @Test
+    void borrowBook_failAlreadyBorrowed() {
+        assertEquals(1, mapper.borrowBook(1));
+        assertEquals(0, mapper.borrowBook(1));
+    }
+
     @Test
     void returnBook_success() {
         mapper.borrowBook(2);
@@ -91,6 +165,31 @@ class BookMapperTest {
         assertEquals(Status.AVAILABLE, afterBook.status());
     }
 
+    @Test
+    void lockAvailableIds_success() {
+        mapper.borrowBook(2);
+
+        assertEquals(List.of(1, 3), mapper.lockAvailableIds(List.of(1, 2, 3, 99)));
+    }
+
+    @Test
+    void borrowBooks_success() {
+        mapper.borrowBook(2);
+
+        assertEquals(2, mapper.borrowBooks(List.of(1, 2, 3)));
+        assertEquals(Status.BORROWED, mapper.findById(1).status());
+        assertEquals(Status.BORROWED, mapper.findById(3).status());
+    }
+
+    @Test
+    void returnBooks_success() {
+        mapper.borrowBooks(List.of(1, 2));
+
+        assertEquals(2, mapper.returnBooks(List.of(1, 2)));
+        assertEquals(Status.AVAILABLE, mapper.findById(1).status());
+        assertEquals(Status.AVAILABLE, mapper.findById(2).status());
+    }
+
     @Test
     void search_success() {
         var keyword = "Java";
@@ -101,6 +200,28 @@ class BookMapperTest {
         assertTrue(books.get(0).title().contains(keyword));
     }
 
+    @Test
+    void search_successNormalized() {
+        var books = mapper.search("ＪＡＶＡ　ｓｐｒｉｎｇ");
+
+        assertEquals(1, books.size());
+        assertEquals(3, books.get(0).id());
+    }
+
+    @Test
+    void updateSearchKey_fillsMissingKeys() {
+        jdbcTemplate.update("UPDATE books SET search_key = '' WHERE id = 3");
+
+        var missing = mapper.findBooksWithoutSearchKey(0, 10);
+        assertEquals(List.of(3), missing.stream().map(Book::id).toList());
+        assertEquals(0, mapper.findBooksWithoutSearchKey(3, 10).size());
+        assertEquals(0, mapper.search("java").size());
+
+        assertEquals(1, mapper.updateSearchKey(missing.get(0)));
+        assertEquals(0, mapper.findBooksWithoutSearchKey(0, 10).size());
+        assertEquals(3, mapper.search("ＪＡＶＡ").get(0).id());
+    }
+
     @Test
     void search_fail() {
         var keyword = "TypeScript";
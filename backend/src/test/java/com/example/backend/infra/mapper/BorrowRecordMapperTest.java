@@ -2,18 +2,29 @@ package com.example.backend.infra.mapper;
 
 import com.example.backend.domain.entity.Book;
 import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.BorrowRecordQuery;
+import com.example.backend.domain.entity.LoanSummary;
 import com.example.backend.domain.entity.Status;
 import com.example.backend.domain.entity.User;
+import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.TestPropertySource;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 @MybatisTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class BorrowRecordMapperTest {
 
@@ -36,6 +47,16 @@ class BorrowRecordMapperTest {
         assertNull(firstBorrowRecord.returnedDate);
     }
 
+    @Test
+    void streamAllBorrowRecords() throws Exception {
+        var borrowRecords = new ArrayList<BorrowRecord>();
+        try (var cursor = borrowRecordMapper.streamAllBorrowRecords()) {
+            cursor.forEach(borrowRecords::add);
+        }
+
+        assertEquals(List.of(1, 2, 3), borrowRecords.stream().map(record -> record.id).sorted().toList());
+    }
+
     @Test
     void findByUserId() {
         var borrowRecords = borrowRecordMapper.findByUserId(1);
@@ -60,6 +81,103 @@ class BorrowRecordMapperTest {
         assertNull(firstBorrowRecord.returnedDate);
     }
 
+    @Test
+    void archiveByIds() {
+        borrowRecordMapper.updateBorrowRecord(2, 2);
+        borrowRecordMapper.deleteOpenLoan(2);
+
+        var ids = borrowRecordMapper.lockArchivableIds(LocalDateTime.now().plusDays(1), 10);
+        assertEquals(List.of(2), ids);
+        assertEquals(1, borrowRecordMapper.archiveByIds(ids));
+        assertEquals(1, borrowRecordMapper.deleteByIds(ids));
+
+        assertEquals(0, borrowRecordMapper.findByUserId(2).size());
+        assertEquals(0, borrowRecordMapper.findHistory(query(2, null, 10, false, false)).size());
+        var archived = borrowRecordMapper.findHistory(query(2, null, 10, false, true));
+        assertEquals(1, archived.size());
+        assertEquals(2, archived.get(0).id);
+        assertNotNull(archived.get(0).returnedDate);
+        assertEquals(List.of(2), ids(borrowRecordMapper.findHistory(query(null, 2, 10, false, true))));
+        assertEquals(0, borrowRecordMapper.lockArchivableIds(LocalDateTime.now().plusDays(1), 10).size());
+    }
+
+    @Test
+    void lockArchivableIds_skipsOpenAndRecentRecords() {
+        borrowRecordMapper.updateBorrowRecord(2, 2);
+
+        assertEquals(0, borrowRecordMapper.lockArchivableIds(LocalDateTime.now().minusDays(1), 10).size());
+        assertEquals(List.of(2), borrowRecordMapper.lockArchivableIds(LocalDateTime.now().plusDays(1), 10));
+    }
+
+    @Test
+    void streamArchivedBorrowRecords() throws Exception {
+        borrowRecordMapper.updateBorrowRecord(2, 2);
+        borrowRecordMapper.archiveByIds(List.of(2));
+        borrowRecordMapper.deleteByIds(List.of(2));
+
+        var liveIds = new ArrayList<Integer>();
+        try (var cursor = borrowRecordMapper.streamAllBorrowRecords()) {
+            cursor.forEach(record -> liveIds.add(record.id));
+        }
+        var archivedIds = new ArrayList<Integer>();
+        try (var cursor = borrowRecordMapper.streamArchivedBorrowRecords()) {
+            cursor.forEach(record -> archivedIds.add(record.id));
+        }
+
+        assertEquals(List.of(1, 3), liveIds.stream().sorted().toList());
+        assertEquals(List.of(2), archivedIds);
+    }
+
+    @Test
+    void findActiveLoansByUserId() {
+        var activeLoans = borrowRecordMapper.findActiveLoansByUserId(1);
+
+        assertEquals(1, activeLoans.size());
+        assertEquals(1, activeLoans.get(0).borrowRecordId());
+        assertEquals(1, activeLoans.get(0).bookId());
+        assertEquals("Ruby on Rails Test Book", activeLoans.get(0).title());
+        assertNotNull(activeLoans.get(0).borrowedDate());
+
+        borrowRecordMapper.updateBorrowRecord(1, 1);
+        borrowRecordMapper.deleteOpenLoan(1);
+
+        assertEquals(0, borrowRecordMapper.findActiveLoansByUserId(1).size());
+    }
+
+    @Test
+    void findSummaryByUserId() {
+        var active = borrowRecordMapper.findSummaryByUserId(1);
+        assertEquals(1, active.activeLoans());
+        assertEquals(1, active.totalBorrowed());
+        assertNotNull(active.lastBorrowedDate());
+
+        borrowRecordMapper.updateBorrowRecord(2, 2);
+        borrowRecordMapper.deleteOpenLoan(2);
+        borrowRecordMapper.archiveByIds(List.of(2));
+        borrowRecordMapper.deleteByIds(List.of(2));
+        var archived = borrowRecordMapper.findSummaryByUserId(2);
+        assertEquals(0, archived.activeLoans());
+        assertEquals(1, archived.totalBorrowed());
+        assertNotNull(archived.lastBorrowedDate());
+
+        assertEquals(new LoanSummary(0L, 0L, null), borrowRecordMapper.findSummaryByUserId(99));
+    }
+
+    @Test
+    void findOpenByUserId() {
+        var openRecords = borrowRecordMapper.findOpenByUserId(1);
+
+        assertEquals(1, openRecords.size());
+        assertEquals(1, openRecords.get(0).id);
+        assertEquals(1, openRecords.get(0).bookId);
+        assertNull(openRecords.get(0).returnedDate);
+        assertEquals(0, borrowRecordMapper.findOpenByUserId(99).size());
+
+        borrowRecordMapper.deleteOpenLoan(1);
+
+        assertEquals(0, borrowRecordMapper.findOpenByUserId(1).size());
+    }
+
     @Test
     void insertBorrowRecord() {
         var newBook = new Book(1, "Test Book", Status.AVAILABLE);
@@ -83,6 +201,21 @@ class BorrowRecordMapperTest {
         assertNull(lastBorrowRecord.returnedDate);
     }
 
+    @Test
+    void insertBorrowRecords() {
+        var borrowRecord1 = new BorrowRecord(1, 2);
+        var borrowRecord2 = new BorrowRecord(1, 3);
+        borrowRecord1.setBorrowedDate();
+        borrowRecord2.setBorrowedDate();
+
+        int affectedRows = borrowRecordMapper.insertBorrowRecords(List.of(borrowRecord1, borrowRecord2));
+
+        assertEquals(2, affectedRows);
+        assertNotNull(borrowRecord1.id);
+        assertEquals(borrowRecord1.id + 1, borrowRecord2.id);
+        assertEquals(3, borrowRecordMapper.findByUserId(1).size());
+    }
+
     @Test
     void updateBorrowRecord() {
         var id = 1;
@@ -95,4 +228,106 @@ class BorrowRecordMapperTest {
         assertEquals(1, affectedRows);
         assertNotNull(afterBorrowRecord.returnedDate);
     }
-}
\ No newline at end of file
+
+    @Test
+    void lockOpenByIds() {
+        borrowRecordMapper.updateBorrowRecord(2, 2);
+
+        var borrowRecords = borrowRecordMapper.lockOpenByIds(List.of(1, 2, 99));
+
+        assertEquals(1, borrowRecords.size());
+        assertEquals(1, borrowRecords.get(0).id);
+    }
+
+    @Test
+    void updateBorrowRecords() {
+        int affectedRows = borrowRecordMapper.updateBorrowRecords(List.of(1, 2));
+
+        assertEquals(2, affectedRows);
+        assertNotNull(borrowRecordMapper.findByBookId(1).get(0).returnedDate);
+        assertNotNull(borrowRecordMapper.findByBookId(2).get(0).returnedDate);
+        assertNull(borrowRecordMapper.findByBookId(3).get(0).returnedDate);
+    }
+
+    @Test
+    void insertOpenLoan() {
+        bookMapper.insertBook(new Book(null, "Test Book", Status.AVAILABLE));
+        var borrowRecord = new BorrowRecord(1, bookMapper.findLastInsertId());
+        borrowRecord.setBorrowedDate();
+        borrowRecordMapper.insertBorrowRecord(borrowRecord);
+
+        borrowRecordMapper.insertOpenLoan(borrowRecord);
+
+        assertEquals(List.of(1, borrowRecord.id), borrowRecordMapper.findOpenByUserId(1).stream().map(r -> r.id).toList());
+        assertEquals(1, borrowRecordMapper.findOpenByUserId(2).size());
+    }
+
+    @Test
+    void insertOpenLoans() {
+        borrowRecordMapper.deleteOpenLoans(List.of(1, 2, 3));
+
+        int affectedRows = borrowRecordMapper.insertOpenLoans(List.of(
+                new BorrowRecord(1, 1, 1, null, null),
+                new BorrowRecord(3, 3, 3, null, null)
+        ));
+
+        assertEquals(2, affectedRows);
+        assertEquals(1, borrowRecordMapper.findOpenByUserId(1).size());
+        assertEquals(0, borrowRecordMapper.findOpenByUserId(2).size());
+        assertEquals(1, borrowRecordMapper.findOpenByUserId(3).size());
+    }
+
+    @Test
+    void deleteOpenLoans() {
+        int affectedRows = borrowRecordMapper.deleteOpenLoans(List.of(1, 2, 99));
+
+        assertEquals(2, affectedRows);
+        assertEquals(0, borrowRecordMapper.findOpenByUserId(1).size());
+        assertEquals(1, borrowRecordMapper.findOpenByUserId(3).size());
+    }
+
+    @Test
+    void pageHistory_newestFirstAcrossPages() {
+        var older = new BorrowRecord(null, 1, 2, date("2020-01-01T10:00:00"), null);
+        var tied1 = new BorrowRecord(null, 1, 3, date("2020-02-01T10:00:00"), null);
+        var tied2 = new BorrowRecord(null, 1, 1, date("2020-02-01T10:00:00"), null);
+        borrowRecordMapper.insertBorrowRecords(List.of(older, tied1, tied2));
+
+        var firstPage = borrowRecordMapper.findHistory(query(1, null, 2, false, false));
+        assertEquals(List.of(1, tied2.id), ids(firstPage));
+
+        var secondPage = borrowRecordMapper.findHistory(
+                query(1, null, 2, false, false).withCursor(BorrowRecordQuery.cursorOf(firstPage.get(1))));
+        assertEquals(List.of(tied1.id, older.id), ids(secondPage));
+
+        var lastPage = borrowRecordMapper.findHistory(
+                query(1, null, 2, false, false).withCursor(BorrowRecordQuery.cursorOf(secondPage.get(1))));
+        assertEquals(0, lastPage.size());
+    }
+
+    @Test
+    void pageHistory_filtersByDateAndOpenLoans() {
+        var january = new BorrowRecord(null, 1, 2, date("2020-01-15T10:00:00"), null);
+        var february = new BorrowRecord(null, 1, 3, date("2020-02-15T10:00:00"), null);
+        borrowRecordMapper.insertBorrowRecords(List.of(january, february));
+
+        var inJanuary = new BorrowRecordQuery(1, null, LocalDateTime.parse("2020-01-01T00:00:00"),
+                LocalDateTime.parse("2020-02-01T00:00:00"), null, null, 10, false, false);
+        assertEquals(List.of(january.id), ids(borrowRecordMapper.findHistory(inJanuary)));
+        assertEquals(List.of(1), ids(borrowRecordMapper.findHistory(query(1, null, 10, true, false))));
+        assertEquals(List.of(1), ids(borrowRecordMapper.findHistory(query(null, 1, 10, true, true))));
+        assertEquals(List.of(2), ids(borrowRecordMapper.findHistory(query(null, 2, 10, true, false))));
+    }
+
+    private static BorrowRecordQuery query(Integer userId, Integer bookId, int limit, boolean openOnly, boolean includeArchived) {
+        return new BorrowRecordQuery(userId, bookId, null, null, null, null, limit, openOnly, includeArchived);
+    }
+
+    private static List<Integer> ids(List<BorrowRecord> records) {
+        return records.stream().map(record -> record.id).toList();
+    }
+
+    private static Date date(String localDateTime) {
+        return Timestamp.valueOf(LocalDateTime.parse(localDateTime));
+    }
+}
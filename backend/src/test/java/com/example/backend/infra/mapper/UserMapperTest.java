@@ -1,5 +1,6 @@
 package com.example.backend.infra.mapper;
 
+import com.example.backend.domain.entity.Avatar;
 import com.example.backend.domain.entity.User;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
@@ -9,6 +10,7 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @MybatisTest
 @TestPropertySource(locations = "classpath:application-test.properties")
@@ -56,4 +58,14 @@ class UserMapperTest {
         assertEquals(2, users.size());
         assertEquals(2, firstUser.getId());
     }
+
+    @Test
+    void upsertAvatar() {
+        assertNull(mapper.findAvatar(1));
+
+        mapper.upsertAvatar(1, new Avatar("a".repeat(64), "image/png"));
+        mapper.upsertAvatar(1, new Avatar("b".repeat(64), "image/jpeg"));
+
+        assertEquals(new Avatar("b".repeat(64), "image/jpeg"), mapper.findAvatar(1));
+    }
 }
@@ -0,0 +1,85 @@
+package com.example.backend.infra.metrics;
+
+import com.example.backend.domain.entity.SlowQuery;
+import com.example.backend.domain.entity.User;
+import com.example.backend.infra.mapper.BorrowRecordMapper;
+import com.example.backend.infra.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MybatisTest
+@Import({SlowQueryInterceptor.class, SlowQueryLog.class})
+@TestPropertySource(
+        locations = "classpath:application-test.properties",
+        properties = "app.slow-query.threshold=0ms"
+)
+class SlowQueryInterceptorTest {
+
+    @Autowired
+    private BorrowRecordMapper borrowRecordMapper;
+    @Autowired
+    private UserMapper userMapper;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void record_capturesParametersAndPlan() throws Exception {
+        borrowRecordMapper.findByUserId(2);
+
+        SlowQuery query = awaitFirst("BorrowRecordMapper.findByUserId");
+        assertEquals(List.of(2), query.parameters());
+        assertTrue(query.sql().contains("borrow_records"));
+        assertTrue(query.durationMillis() >= 0);
+        assertFalse(query.plan().isEmpty());
+        assertTrue(query.plan().get(0).toString().toUpperCase().contains("BORROW_RECORDS"));
+    }
+
+    @Test
+    void record_masksSensitiveParameters() throws Exception {
+        User user = new User("Takashi", "slow@gmail.com", "pw");
+        user.setEncodedPassword("{noop}pw");
+        userMapper.insert(user);
+
+        SlowQuery query = awaitFirst("UserMapper.insert");
+        assertEquals(List.of("Takashi", SlowQueryLog.MASK, SlowQueryLog.MASK), query.parameters());
+    }
+
+    @Test
+    void find_filtersByStatementNewestFirst() throws Exception {
+        borrowRecordMapper.findByUserId(1);
+        awaitFirst("BorrowRecordMapper.findByUserId");
+        borrowRecordMapper.findByBookId(1);
+        awaitFirst("BorrowRecordMapper.findByBookId");
+
+        assertEquals("BorrowRecordMapper.findByBookId", slowQueryLog.find(null, 10).get(0).statement());
+        assertEquals(1, slowQueryLog.find("BorrowRecordMapper.findByUserId", 10).size());
+        assertEquals(1, slowQueryLog.find(null, 1).size());
+    }
+
+    private SlowQuery awaitFirst(String statement) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<SlowQuery> queries = slowQueryLog.find(statement, 1);
+            if (!queries.isEmpty()) {
+                return queries.get(0);
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("no slow query recorded for " + statement);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.infra.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(registry);
+    private final Executor delegate = mock(Executor.class);
+    private final Executor executor = (Executor) interceptor.plugin(delegate);
+
+    @Test
+    void plugin_recordsQuery() throws Exception {
+        var statement = statement("com.example.backend.infra.mapper.BookMapper.search", SqlCommandType.SELECT);
+        when(delegate.query(any(), any(), any(), any())).thenReturn(List.of("a", "b"));
+
+        executor.query(statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        executor.query(statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+
+        assertEquals(2, registry.get(StatementMetricsInterceptor.LATENCY).tag("statement", "BookMapper.search").timer().count());
+        assertEquals(4, registry.get(StatementMetricsInterceptor.ROWS).tag("statement", "BookMapper.search").summary().totalAmount());
+        assertEquals(0, registry.get(StatementMetricsInterceptor.ERRORS).tag("statement", "BookMapper.search").counter().count());
+    }
+
+    @Test
+    void plugin_recordsUpdateRows() throws Exception {
+        var statement = statement("com.example.backend.infra.mapper.BookMapper.borrowBook", SqlCommandType.UPDATE);
+        when(delegate.update(any(), any())).thenReturn(1);
+
+        assertEquals(1, executor.update(statement, null));
+
+        assertEquals(1, registry.get(StatementMetricsInterceptor.ROWS).tag("statement", "BookMapper.borrowBook").summary().totalAmount());
+    }
+
+    @Test
+    void plugin_countsErrors() throws Exception {
+        var statement = statement("com.example.backend.infra.mapper.BorrowRecordMapper.findByUserId", SqlCommandType.SELECT);
+        when(delegate.query(any(), any(), any(), any())).thenThrow(new SQLException("boom"));
+
+        assertThrows(SQLException.class, () -> executor.query(statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER));
+
+        assertEquals(1, registry.get(StatementMetricsInterceptor.ERRORS).tag("statement", "BorrowRecordMapper.findByUserId").counter().count());
+        assertEquals(1, registry.get(StatementMetricsInterceptor.LATENCY).tag("statement", "BorrowRecordMapper.findByUserId").timer().count());
+    }
+
+    @Test
+    void plugin_ignoresOtherTargets() {
+        var target = new Object();
+        assertSame(target, interceptor.plugin(target));
+    }
+
+    @Test
+    void shortId() {
+        assertEquals("BookMapper.search", StatementMetricsInterceptor.shortId("com.example.backend.infra.mapper.BookMapper.search"));
+        assertEquals("search", StatementMetricsInterceptor.shortId("search"));
+    }
+
+    private MappedStatement statement(String id, SqlCommandType type) {
+        return new MappedStatement.Builder(new Configuration(), id, parameter -> null, type).build();
+    }
+}
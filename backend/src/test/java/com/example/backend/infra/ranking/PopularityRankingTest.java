@@ -0,0 +1,168 @@
+package com.example.backend.infra.ranking;
+
+import com.example.backend.domain.entity.BookChangeType;
+import com.example.backend.domain.entity.BookChangedEvent;
+import com.example.backend.domain.entity.BooksBorrowedEvent;
+import com.example.backend.domain.entity.BorrowRecord;
+import com.example.backend.domain.entity.PopularityWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PopularityRankingTest {
+
+    private static final Instant START = Instant.parse("2025-04-01T00:00:00Z");
+
+    private MutableClock clock;
+    private PopularityRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        ranking = new PopularityRanking(clock);
+    }
+
+    @Test
+    void top_successOrderedByCount() {
+        ranking.record(1, START);
+        ranking.record(2, START);
+        ranking.record(2, START);
+        ranking.record(3, START);
+        ranking.record(3, START);
+        ranking.record(3, START);
+
+        assertEquals(List.of(3, 2, 1), ranking.top(PopularityWindow.ALL, 5));
+        assertEquals(List.of(3, 2), ranking.top(PopularityWindow.DAY, 2));
+    }
+
+    @Test
+    void top_successTiesOrderedById() {
+        ranking.record(2, START);
+        ranking.record(1, START);
+
+        assertEquals(List.of(1, 2), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @Test
+    void top_successWindowsSlide() {
+        ranking.record(1, START);
+
+        clock.set(START.plus(Duration.ofDays(6)));
+        ranking.record(2, clock.instant());
+        ranking.record(2, clock.instant());
+
+        clock.set(START.plus(Duration.ofDays(8)));
+        ranking.record(3, clock.instant());
+
+        assertEquals(List.of(3), ranking.top(PopularityWindow.DAY, 5));
+        assertEquals(List.of(2, 3), ranking.top(PopularityWindow.WEEK, 5));
+        assertEquals(List.of(2, 1, 3), ranking.top(PopularityWindow.MONTH, 5));
+
+        clock.set(START.plus(Duration.ofDays(40)));
+        assertEquals(List.of(), ranking.top(PopularityWindow.MONTH, 5));
+        assertEquals(List.of(2, 1, 3), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @Test
+    void record_successOldHistoryOnlyCountsAllTime() {
+        clock.set(START.plus(Duration.ofDays(100)));
+        ranking.record(1, START);
+
+        assertEquals(List.of(), ranking.top(PopularityWindow.MONTH, 5));
+        assertEquals(List.of(1), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @Test
+    void remove_success() {
+        ranking.record(1, START);
+        ranking.record(2, START);
+        ranking.remove(1);
+
+        assertEquals(List.of(2), ranking.top(PopularityWindow.ALL, 5));
+        assertEquals(List.of(2), ranking.top(PopularityWindow.DAY, 5));
+    }
+
+    @Test
+    void onBooksBorrowed_countsBorrowsAndOnBookChangedForgetsDeletedBooks() {
+        ranking.onBooksBorrowed(new BooksBorrowedEvent(List.of(borrowed(1, 1), borrowed(2, 2))));
+        ranking.onBooksBorrowed(new BooksBorrowedEvent(List.of(borrowed(3, 2))));
+        ranking.onBookChanged(BookChangedEvent.of(BookChangeType.RETURNED, 2));
+
+        assertEquals(List.of(2, 1), ranking.top(PopularityWindow.DAY, 5));
+
+        ranking.onBookChanged(BookChangedEvent.of(BookChangeType.DELETED, 2));
+        assertEquals(List.of(1), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @Test
+    void rebuild_countsEachBorrowRecordOnce() {
+        ranking.record(9, START);
+        var rebuild = ranking.startRebuild();
+
+        // Committed during the rebuild: record 5 is also in the history read, record 6 is not, and book 3 is deleted
+        ranking.onBooksBorrowed(new BooksBorrowedEvent(List.of(borrowed(5, 1), borrowed(6, 2))));
+        ranking.onBookChanged(BookChangedEvent.of(BookChangeType.DELETED, 3));
+        rebuild.add(borrowed(4, 1));
+        rebuild.add(borrowed(5, 1));
+        rebuild.add(borrowed(7, 3));
+        assertEquals(List.of(9), ranking.top(PopularityWindow.ALL, 5));
+
+        rebuild.finish();
+
+        assertEquals(List.of(1, 2), ranking.top(PopularityWindow.ALL, 5));
+        ranking.onBooksBorrowed(new BooksBorrowedEvent(List.of(borrowed(8, 2), borrowed(9, 2))));
+        assertEquals(List.of(2, 1), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    @Test
+    void rebuild_cancelKeepsCountsAndAppliesHeldBackBorrows() {
+        ranking.record(9, START);
+        var rebuild = ranking.startRebuild();
+        ranking.onBooksBorrowed(new BooksBorrowedEvent(List.of(borrowed(5, 1))));
+        rebuild.add(borrowed(5, 1));
+
+        rebuild.cancel();
+
+        assertEquals(List.of(1, 9), ranking.top(PopularityWindow.ALL, 5));
+    }
+
+    private static BorrowRecord borrowed(int id, int bookId) {
+        return new BorrowRecord(id, 1, bookId, Date.from(START), null);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.infra.search;
+
+import com.example.backend.infra.mapper.BookMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@MybatisTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookTitleIndexBenchmarkTest {
+
+    private static final int TITLES = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ITERATIONS = 20;
+    private static final List<String> WORDS = List.of(
+            "Java", "Spring", "入門", "完全ガイド", "猫", "物語", "プログラミング", "旅行記",
+            "Kotlin", "実践", "データベース", "設計", "こころ", "羅生門", "Effective", "第3版"
+    );
+    private static final List<String> KEYWORDS = List.of("Java", "完全ガイド", "猫", "Spring 実践", "存在しない");
+
+    private final Logger logger = LoggerFactory.getLogger(BookTitleIndexBenchmarkTest.class);
+
+    @Autowired
+    private BookMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final BookTitleIndex index = new BookTitleIndex();
+
+    @BeforeEach
+    void seed() {
+        Random random = new Random(42);
+        int offset = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM books", Integer.class);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= TITLES; i++) {
+            String title = WORDS.get(random.nextInt(WORDS.size())) + " "
+                    + WORDS.get(random.nextInt(WORDS.size())) + " " + i;
+            index.add(offset + i, title);
+            batch.add(new Object[]{title, TitleNormalizer.normalize(title)});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO books (title, search_key) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Test
+    void compareLikeQueryWithIndex() {
+        for (String keyword : KEYWORDS) {
+            double like = measure(keyword, k -> mapper.search(k).size());
+            double indexed = measure(keyword, k -> mapper.findByIds(ids(k)).size());
+            logger.info(String.format("keyword=%-12s like=%8.2fms index=%8.2fms speedup=%6.1fx",
+                    keyword, like, indexed, like / indexed));
+        }
+        assertEquals(TITLES, index.size());
+    }
+
+    private List<Integer> ids(String keyword) {
+        List<Integer> ids = index.search(keyword, 100);
+        return ids.isEmpty() ? List.of(0) : ids;
+    }
+
+    private double measure(String keyword, Function<String, Integer> search) {
+        search.apply(keyword);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.apply(keyword);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.infra.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookTitleIndexTest {
+
+    private BookTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookTitleIndex();
+        index.add(1, "Javaプログラミング完全ガイド");
+        index.add(2, "Effective Java 第3版");
+        index.add(3, "Java");
+        index.add(4, "JavaScript入門");
+        index.add(5, "吾輩は猫である");
+    }
+
+    @Test
+    void search_successRankedByMatchQuality() {
+        assertEquals(List.of(3, 4, 1, 2), index.search("Java", 10));
+    }
+
+    @Test
+    void search_successIgnoresCase() {
+        assertEquals(List.of(3, 4, 1, 2), index.search("java", 10));
+    }
+
+    @Test
+    void search_successIgnoresWidthAndKana() {
+        assertEquals(List.of(1), index.search("ｊａｖａぷろぐらみんぐ", 10));
+        assertEquals(List.of(1), index.search("ﾌﾟﾛｸﾞﾗﾐﾝｸﾞ", 10));
+    }
+
+    @Test
+    void search_successLimit() {
+        assertEquals(List.of(3, 4), index.search("Java", 2));
+    }
+
+    @Test
+    void search_successSingleCharacter() {
+        assertEquals(List.of(5), index.search("猫", 10));
+    }
+
+    @Test
+    void search_successRequiresContiguousMatch() {
+        assertEquals(List.of(), index.search("Javaガイド", 10));
+        assertEquals(List.of(1), index.search("完全ガイド", 10));
+    }
+
+    @Test
+    void search_fail() {
+        assertEquals(List.of(), index.search("TypeScript", 10));
+        assertEquals(List.of(), index.search("", 10));
+    }
+
+    @Test
+    void remove_success() {
+        index.remove(3);
+
+        assertEquals(4, index.size());
+        assertEquals(List.of(4, 1, 2), index.search("Java", 10));
+    }
+
+    @Test
+    void add_successReplacesTitle() {
+        index.add(5, "こころ");
+
+        assertEquals(List.of(), index.search("猫", 10));
+        assertEquals(List.of(5), index.search("ここ", 10));
+    }
+
+    @Test
+    void replaceWith_success() {
+        var rebuilt = new BookTitleIndex();
+        rebuilt.addSearchKey(6, "こころ");
+
+        index.replaceWith(rebuilt);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.search("Java", 10));
+        assertEquals(List.of(6), index.search("ココロ", 10));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.infra.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TitleNormalizerTest {
+
+    @Test
+    void normalize_foldsWidth() {
+        assertEquals("java入門", TitleNormalizer.normalize("Ｊａｖａ入門"));
+        assertEquals("effective java 第3版", TitleNormalizer.normalize("Effective　Java　第３版"));
+    }
+
+    @Test
+    void normalize_foldsKana() {
+        assertEquals("がりばー旅行記", TitleNormalizer.normalize("ガリバー旅行記"));
+        assertEquals("がりばー旅行記", TitleNormalizer.normalize("ｶﾞﾘﾊﾞｰ旅行記"));
+        assertEquals("吾輩は猫である", TitleNormalizer.normalize("吾輩は猫である"));
+    }
+
+    @Test
+    void normalize_foldsCase() {
+        assertEquals("master of javascript", TitleNormalizer.normalize("MASTER of JavaScript"));
+    }
+
+    @Test
+    void normalize_null() {
+        assertEquals("", TitleNormalizer.normalize(null));
+    }
+}
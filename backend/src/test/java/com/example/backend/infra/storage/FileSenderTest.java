@@ -0,0 +1,140 @@
+package com.example.backend.infra.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.CacheControl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileSenderTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(directory.resolve("image.png"), "0123456789");
+    }
+
+    @Test
+    void send_wholeFile() throws Exception {
+        var response = send(request());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("image/png", response.getContentType());
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("max-age=60", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void send_notModified() throws Exception {
+        var request = request();
+        request.addHeader("If-None-Match", ETAG);
+
+        var response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_range() throws Exception {
+        assertRange("bytes=2-4", 206, "234", "bytes 2-4/10");
+        assertRange("bytes=7-", 206, "789", "bytes 7-9/10");
+        assertRange("bytes=-3", 206, "789", "bytes 7-9/10");
+        assertRange("bytes=8-100", 206, "89", "bytes 8-9/10");
+    }
+
+    @Test
+    void send_ignoresMalformedOrMultipleRanges() throws Exception {
+        assertRange("bytes=0-1,4-5", 200, "0123456789", null);
+        assertRange("bytes=5-2", 200, "0123456789", null);
+        assertRange("items=0-1", 200, "0123456789", null);
+    }
+
+    @Test
+    void send_unsatisfiableRange() throws Exception {
+        assertRange("bytes=10-", 416, "", "bytes */10");
+    }
+
+    @Test
+    void send_staleIfRangeSendsWholeFile() throws Exception {
+        var request = request();
+        request.addHeader("Range", "bytes=0-1");
+        request.addHeader("If-Range", "\"old\"");
+
+        assertEquals("0123456789", send(request).getContentAsString());
+    }
+
+    @Test
+    void send_handsRangeToSendfile() throws Exception {
+        var request = request();
+        request.setAttribute(FileSender.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-4");
+
+        var response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(3, response.getContentLengthLong());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(FileSender.SENDFILE_FILENAME));
+        assertEquals(2L, request.getAttribute(FileSender.SENDFILE_START));
+        assertEquals(5L, request.getAttribute(FileSender.SENDFILE_END));
+    }
+
+    @Test
+    void send_headWritesNoBody() throws Exception {
+        var request = request();
+        request.setMethod("HEAD");
+
+        var response = send(request);
+
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertNull(request.getAttribute(FileSender.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void send_missingFile() throws Exception {
+        file = directory.resolve("missing.png");
+
+        assertEquals(404, send(request()).getStatus());
+    }
+
+    private void assertRange(String range, int status, String body, String contentRange) throws Exception {
+        var request = request();
+        request.addHeader("Range", range);
+
+        var response = send(request);
+
+        assertEquals(status, response.getStatus());
+        assertEquals(body, response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(contentRange, response.getHeader("Content-Range"));
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/images/abc");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        FileSender.send(request, response, file, "image/png", ETAG, CacheControl.maxAge(Duration.ofMinutes(1)));
+        return response;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.infra.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageStoreTest {
+
+    @TempDir
+    private Path root;
+
+    private ImageStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new ImageStore(root, 64, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    void store_keepsIdenticalContentOnce() throws Exception {
+        byte[] image = png(200, 100);
+
+        String first = store.store(new ByteArrayInputStream(image), "image/png");
+        String second = store.store(new ByteArrayInputStream(image), "image/png");
+
+        assertEquals(first, second);
+        assertEquals(64, first.length());
+        assertArrayEquals(image, Files.readAllBytes(store.original(first, "image/png")));
+        assertEquals(1, countFiles(root.resolve(first.substring(0, 2))));
+        assertEquals(0, countFiles(root.resolve(".tmp")));
+    }
+
+    @Test
+    void store_hashesContent() throws Exception {
+        String hash = store.store(new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)), "image/jpeg");
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+        assertEquals(hash + ".jpg", store.original(hash, "image/jpeg").getFileName().toString());
+    }
+
+    @Test
+    void generateThumbnail_scalesDownKeepingAspectRatio() throws Exception {
+        String hash = store.store(new ByteArrayInputStream(png(400, 200)), "image/png");
+
+        store.generateThumbnail(hash, "image/png").get(5, TimeUnit.SECONDS);
+
+        BufferedImage thumbnail = ImageIO.read(store.thumbnail(hash, "image/png").toFile());
+        assertEquals(64, thumbnail.getWidth());
+        assertEquals(32, thumbnail.getHeight());
+    }
+
+    @Test
+    void generateThumbnail_skipsUnreadableImages() throws Exception {
+        String hash = store.store(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)), "image/png");
+
+        store.generateThumbnail(hash, "image/png").get(5, TimeUnit.SECONDS);
+
+        assertFalse(Files.exists(store.thumbnail(hash, "image/png")));
+    }
+
+    @Test
+    void contentTypeOf_findsStoredOriginal() throws Exception {
+        String hash = store.store(new ByteArrayInputStream(png(10, 10)), "image/png");
+
+        assertEquals(Optional.of("image/png"), store.contentTypeOf(hash));
+        assertEquals(Optional.empty(), store.contentTypeOf("0".repeat(64)));
+    }
+
+    @Test
+    void original_rejectsInvalidHash() {
+        assertThrows(IllegalArgumentException.class, () -> store.original("../../etc/passwd", "image/png"));
+        assertThrows(IllegalArgumentException.class, () -> store.original("a".repeat(64), "image/gif"));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static long countFiles(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
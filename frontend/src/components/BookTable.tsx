@@ -15,14 +15,16 @@ const BookTable: React.FC = () => {
     const [menuOpen, setMenuOpen] = useState(false);
     const toggleMenu = () => setMenuOpen(!menuOpen);
     const [books, setBooks] = useState<Book[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const logout = useLogout();
 
     useEffect(() => {
         fetchBooks()
     }, [])
 
-    const fetchBooks = () => {
-        fetch(`${BASE_URL}/books`, {
+    const fetchBooks = (cursor?: string) => {
+        const query = cursor ? `?cursor=${cursor}` : "";
+        fetch(`${BASE_URL}/books${query}`, {
             method: "GET",
             credentials: "include",
         })
@@ -30,9 +32,10 @@ const BookTable: React.FC = () => {
                 if (!res.ok) {
                     throw new Error(`HTTP error! status: ${res.status}`);
                 }
+                setNextCursor(res.headers.get("X-Next-Cursor"));
                 return res.json();
             })
-            .then((data: Book[]) => setBooks(data))
+            .then((data: Book[]) => setBooks((prev) => cursor ? [...prev, ...data] : data))
             .catch((error) => {
                 console.error("Error fetching books:", error);
             });
@@ -115,6 +118,16 @@ const BookTable: React.FC = () => {
                     ))}
                     </tbody>
                 </table>
+                {nextCursor && (
+                    <div className="flex justify-center mt-6">
+                        <button
+                            className="px-4 py-2 rounded text-white bg-green-500 hover:bg-green-600"
+                            onClick={() => fetchBooks(nextCursor)}
+                        >
+                            もっと見る
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );